@@ -0,0 +1,50 @@
+package com.example.todo.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.todo.TodoApplication;
+
+/**
+ * ベンチマーク用にアプリケーションを起動する。
+ * ベンチマークごとに別のインメモリ DB を使い、キャッシュやインデックス、メトリクスや JFR など計測対象外の仕組みは無効にする。
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        var all = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + database,
+                "todo.task.reactive.url=r2dbc:h2:mem:///" + database,
+                "todo.task.summary-index.enabled=false",
+                "todo.task.cache.by-id.enabled=false",
+                "todo.task.cache.search.enabled=false",
+                // 計測の仕組みも止める (遅いクエリの EXPLAIN ANALYZE が同じ DB で走ると結果を乱す)
+                "todo.mybatis.metrics.enabled=false",
+                "todo.mybatis.slow-query.enabled=false",
+                "todo.jfr.enabled=false",
+                "logging.level.root=WARN",
+                "logging.level.com.example.todo.repository=WARN"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(TodoApplication.class)
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+
+    // 概要「タスクN」・説明「説明N」で、ステータスのコードが 1〜3 の順に並ぶ rows 件を data.sql の後に追加する
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        var jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (summary, description, status)
+                SELECT 'タスク' || X, '説明' || X, MOD(X, 3) + 1
+                FROM SYSTEM_RANGE(1, ?)
+                """, rows);
+    }
+}
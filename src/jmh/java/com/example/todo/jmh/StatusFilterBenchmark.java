@@ -0,0 +1,103 @@
+package com.example.todo.jmh;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ステータスでの絞り込みを、ステータスの型 (VARCHAR の名前 / SMALLINT のコード) と
+ * (status, id) の索引の有無の組み合わせで比較する。変更前は varchar・索引なし、変更後は smallint・索引あり。
+ * ステータスは DONE 6 割・TODO 25%・DOING 15% の分布で、件数の少ない DOING で絞り込む。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatusFilterBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    @Param({"varchar", "smallint"})
+    private String statusType;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private Connection connection;
+
+    private Object doing;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:status" + rows + statusType + indexed, "sa", "");
+        boolean compact = statusType.equals("smallint");
+        try (var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tasks (id BIGINT NOT NULL PRIMARY KEY AUTO_INCREMENT, summary VARCHAR(256) NOT NULL, "
+                    + "description TEXT, status " + (compact ? "SMALLINT" : "VARCHAR(256)") + " NOT NULL)");
+            var status = compact
+                    ? "CASE WHEN MOD(X, 100) < 60 THEN 3 WHEN MOD(X, 100) < 85 THEN 1 ELSE 2 END"
+                    : "CASE WHEN MOD(X, 100) < 60 THEN 'DONE' WHEN MOD(X, 100) < 85 THEN 'TODO' ELSE 'DOING' END";
+            statement.execute("INSERT INTO tasks (summary, description, status) "
+                    + "SELECT 'タスク' || X, '説明' || X, " + status + " FROM SYSTEM_RANGE(1, " + rows + ")");
+            if (indexed) {
+                statement.execute("CREATE INDEX idx_tasks_status_id ON tasks (status, id)");
+            }
+            statement.execute("ANALYZE");
+        }
+        doing = compact ? (Object) (short) 2 : "DOING";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    // 一覧の先頭ページ (ステータスで絞り込んで id 順に 20 件)
+    @Benchmark
+    public long firstPage() throws SQLException {
+        return sum("SELECT id, summary, description, status FROM tasks WHERE status IN (?) ORDER BY id LIMIT 20");
+    }
+
+    // 一覧の総件数
+    @Benchmark
+    public long count() throws SQLException {
+        return sum("SELECT COUNT(*) FROM tasks WHERE status IN (?)");
+    }
+
+    // 絞り込み結果の全件取得 (TaskRepository.select 相当)
+    @Benchmark
+    public long selectAll() throws SQLException {
+        return sum("SELECT id, summary, description, status FROM tasks WHERE status IN (?)");
+    }
+
+    private long sum(String sql) throws SQLException {
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, doing);
+            long sum = 0;
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    sum += resultSet.getLong(1);
+                }
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.todo.jmh;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import com.example.todo.controller.task.TaskPageDTO;
+import com.example.todo.controller.task.TaskSearchDTO;
+import com.example.todo.controller.task.TaskSummaryDTO;
+
+/**
+ * tasks/list テンプレートの描画 (レイアウトの適用を含む)。DB は読まない。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskListRenderingBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+
+    private View view;
+
+    private Map<String, Object> model;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start("rendering" + tasks);
+        view = context.getBean(ThymeleafViewResolver.class).resolveViewName("tasks/list", Locale.JAPANESE);
+        var taskList = LongStream.rangeClosed(1, tasks)
+                .mapToObj(id -> new TaskSummaryDTO(id, "タスク" + id, "TODO"))
+                .toList();
+        model = new HashMap<>();
+        model.put("taskList", taskList);
+        model.put("page", new TaskPageDTO((long) tasks, null, "/tasks?after=" + tasks, "/tasks/all"));
+        model.put("searchDTO", new TaskSearchDTO(null, List.of()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String render() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/tasks");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+        var response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response.getContentAsString();
+    }
+}
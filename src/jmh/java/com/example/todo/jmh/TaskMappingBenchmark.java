@@ -0,0 +1,54 @@
+package com.example.todo.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.todo.controller.task.TaskDTO;
+import com.example.todo.controller.task.TaskForm;
+import com.example.todo.controller.task.TaskSearchForm;
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskStatus;
+
+/**
+ * エンティティ・フォーム・DTO の変換。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    private final TaskEntity entity = new TaskEntity(1L, "タスク1", "説明1", TaskStatus.DOING);
+
+    private final TaskForm form = new TaskForm("タスク1", "説明1", "DOING", null);
+
+    private final TaskSearchForm searchForm = new TaskSearchForm("タスク", List.of("TODO", "DOING"), null, null, null, null);
+
+    @Benchmark
+    public TaskDTO taskDtoToDTO() {
+        return TaskDTO.toDTO(entity);
+    }
+
+    @Benchmark
+    public TaskEntity taskFormToEntity() {
+        return form.toEntity();
+    }
+
+    @Benchmark
+    public TaskSearchEntity taskSearchFormToEntity() {
+        return searchForm.toEntity();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.todo.jmh;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.todo.repository.task.TaskRepository;
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskStatus;
+
+/**
+ * TaskRepository の select / selectById / insert。
+ * rows 件のタスクを登録した DB に対し、select だけは filter の条件ごとに計測する
+ * (filter は Search の状態にだけ持たせ、条件を使わないベンチマークの試行が増えないようにする)。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskRepositoryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        @Param({"1000", "100000", "1000000"})
+        private int rows;
+
+        private ConfigurableApplicationContext context;
+
+        private TaskRepository taskRepository;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkApplication.start("repository" + rows);
+            BenchmarkApplication.seed(context, rows);
+            taskRepository = context.getBean(TaskRepository.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Search {
+
+        @Param({"none", "status", "summary", "summaryAndStatus"})
+        private String filter;
+
+        private TaskSearchEntity condition;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            condition = switch (filter) {
+                case "none" -> new TaskSearchEntity(null, List.of());
+                case "status" -> new TaskSearchEntity(null, List.of(TaskStatus.TODO));
+                case "summary" -> new TaskSearchEntity("タスク99", List.of());
+                case "summaryAndStatus" -> new TaskSearchEntity("タスク99", List.of(TaskStatus.TODO, TaskStatus.DOING));
+                default -> throw new IllegalArgumentException(filter);
+            };
+        }
+    }
+
+    @Benchmark
+    public List<TaskEntity> select(Database database, Search search) {
+        return database.taskRepository.select(search.condition);
+    }
+
+    @Benchmark
+    public Object selectById(Database database) {
+        return database.taskRepository.selectById(ThreadLocalRandom.current().nextLong(1, database.rows + 1));
+    }
+
+    @Benchmark
+    public long insert(Database database) {
+        return database.taskRepository.insert(new TaskEntity(null, "ベンチマーク", "説明", TaskStatus.TODO));
+    }
+}
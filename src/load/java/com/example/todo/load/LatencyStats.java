@@ -0,0 +1,72 @@
+package com.example.todo.load;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+/**
+ * 成功したリクエストのレイテンシ (HdrHistogram、マイクロ秒・有効桁 3 桁) と失敗数。
+ * 他のクライアントとの競合 (削除済みの 404、編集中に更新された 409) は失敗とは別に数える。
+ */
+class LatencyStats {
+
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private final AtomicLong notFound = new AtomicLong();
+
+    private final AtomicLong conflicts = new AtomicLong();
+
+    void record(long nanos, boolean ok) {
+        if (ok) {
+            histogram.recordValue(Math.min(histogram.getHighestTrackableValue(), TimeUnit.NANOSECONDS.toMicros(nanos)));
+        } else {
+            errors.incrementAndGet();
+        }
+    }
+
+    long count() {
+        return histogram.getTotalCount();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    void countNotFound() {
+        notFound.incrementAndGet();
+    }
+
+    long notFound() {
+        return notFound.get();
+    }
+
+    void countConflict() {
+        conflicts.incrementAndGet();
+    }
+
+    long conflicts() {
+        return conflicts.get();
+    }
+
+    double throughput(Duration duration) {
+        return count() / (duration.toNanos() / 1e9);
+    }
+
+    // パーセンタイル (0-100) のレイテンシ (ミリ秒)
+    double percentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double max() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+
+    String summary(Duration duration) {
+        return String.format("%8.0f req/s  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms  errors %d",
+                throughput(duration), percentile(50), percentile(99), max(), errors());
+    }
+}
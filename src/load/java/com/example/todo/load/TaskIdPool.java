@@ -0,0 +1,34 @@
+package com.example.todo.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 詳細・更新・削除の対象にする既存タスクの id。削除の対象に選んだ id はプールから外す。
+ * ウォームアップと計測で共有するので、ウォームアップで削除したタスクは計測では選ばれない。
+ */
+class TaskIdPool {
+
+    private final List<Long> ids;
+
+    TaskIdPool(List<Long> ids) {
+        this.ids = new ArrayList<>(ids);
+    }
+
+    synchronized Long pick(Random random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    // 末尾と入れ替えて O(1) で取り除く
+    synchronized Long take(Random random) {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(ids.size());
+        var id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.todo.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskService;
+import com.example.todo.service.task.TaskStatus;
+
+/**
+ * /tasks の画面操作を模した負荷試験。
+ * アプリケーションをランダムなポートで起動して seed 件のタスクを登録し、clients 並列で
+ * 一覧・検索・詳細・作成・更新・削除を mix の比率で繰り返して、操作ごとのスループットとレイテンシを表示する。
+ * 更新・削除は画面と同じく hidden method (_method=PUT / DELETE) のフォーム POST で送り、リダイレクトも辿る。
+ * 作成・更新は画面と同じくフォームを開いてから送信し、フォームの hidden 項目 (作成は idempotencyKey、更新は version) も送るので、
+ * 冪等キーと楽観ロックの確認も通る。レイテンシはフォームの表示と送信を合わせた時間で、編集中に他のクライアントに更新された 409 は conflict として数える。
+ * 操作の選択や入力値は random-seed から決まるので、同じ引数なら同じ負荷を再現できる
+ * (ただしスレッドの実行順によって対象のタスクが既に削除されていることがあり、その 404 は not found として数える)。
+ *
+ * 実行: ./gradlew loadTest -PloadArgs="--clients=200 --duration=60 --seed=10000 --mix=list:40,search:30,detail:20,create:5,update:4,delete:1"
+ */
+public class TaskLoadTest {
+
+    enum Operation {
+        LIST, SEARCH, DETAIL, CREATE, UPDATE, DELETE
+    }
+
+    private static final List<String> KEYWORDS = List.of("会議", "資料", "レビュー", "report", "deploy", "Spring");
+
+    private static final List<String> STATUSES = List.of("TODO", "DOING", "DONE");
+
+    // tasks/form.html の hidden 項目
+    private static final Pattern VERSION_FIELD = Pattern.compile("<input[^>]*name=\"version\"[^>]*value=\"([^\"]*)\"");
+
+    private static final Pattern IDEMPOTENCY_KEY_FIELD = Pattern.compile("<input[^>]*name=\"idempotencyKey\"[^>]*value=\"([^\"]*)\"");
+
+    public static void main(String[] args) throws Exception {
+        var options = parse(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "50"));
+        var duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        var warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        int seed = Integer.parseInt(options.getOrDefault("seed", "1000"));
+        long randomSeed = Long.parseLong(options.getOrDefault("random-seed", "42"));
+        var mix = parseMix(options.getOrDefault("mix", "list:40,search:30,detail:20,create:5,update:4,delete:1"));
+
+        try (var context = new SpringApplicationBuilder(TodoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "logging.level.com.example.todo.repository=INFO",
+                        "todo.mybatis.slow-query.enabled=false")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            var ids = new TaskIdPool(seed(context.getBean(TaskService.class), seed, new Random(randomSeed)));
+
+            var clientExecutor = Executors.newFixedThreadPool(Math.max(4, clients / 4));
+            var client = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            var base = "http://localhost:" + port;
+
+            run(client, base, clients, warmup, mix, ids, randomSeed - 1, new EnumMap<>(Operation.class));
+            var stats = new EnumMap<Operation, LatencyStats>(Operation.class);
+            run(client, base, clients, duration, mix, ids, randomSeed, stats);
+
+            System.out.printf("%n%d clients, %ds, %d seeded tasks, mix %s%n", clients, duration.toSeconds(), seed, options.getOrDefault("mix", "default"));
+            // ウォームアップの結果は捨て、計測中の stats だけを集計する
+            var total = new long[4];
+            stats.forEach((operation, s) -> {
+                System.out.printf("%-7s %s%n", operation.name().toLowerCase(), s.summary(duration) + String.format("  p90 %7.1f ms", s.percentile(90)));
+                total[0] += s.count();
+                total[1] += s.errors();
+                total[2] += s.notFound();
+                total[3] += s.conflicts();
+            });
+            System.out.printf("total   %8.0f req/s  errors %d  not found %d  conflict %d%n",
+                    total[0] / (double) duration.toSeconds(), total[1], total[2], total[3]);
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static void run(HttpClient client, String base, int clients, Duration duration, Map<Operation, Integer> mix,
+            TaskIdPool ids, long randomSeed, Map<Operation, LatencyStats> stats) throws InterruptedException {
+        for (var operation : mix.keySet()) {
+            stats.putIfAbsent(operation, new LatencyStats());
+        }
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long deadline = System.nanoTime() + duration.toNanos();
+        var executor = Executors.newFixedThreadPool(clients);
+        var done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            var random = new Random(randomSeed * 31 + i);
+            executor.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        var operation = choose(mix, totalWeight, random);
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            var status = perform(client, operation, base, ids, random);
+                            if (status == null) {
+                                continue;
+                            }
+                            if (status == 404) {
+                                stats.get(operation).countNotFound();
+                                continue;
+                            }
+                            if (status == 409) {
+                                stats.get(operation).countConflict();
+                                continue;
+                            }
+                            ok = status == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        stats.get(operation).record(System.nanoTime() - start, ok);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdownNow();
+    }
+
+    // 1 操作分のリクエストを送り、最後のレスポンスのステータスを返す。対象のタスクがなければ null
+    private static Integer perform(HttpClient client, Operation operation, String base, TaskIdPool ids, Random random) throws Exception {
+        return switch (operation) {
+            case LIST -> send(client, get(base + "/tasks"));
+            case SEARCH -> send(client, get(base + "/tasks?summary=" + encode(pick(KEYWORDS, random)) + "&status=" + pick(STATUSES, random)));
+            case DETAIL -> {
+                var id = ids.pick(random);
+                yield id == null ? null : send(client, get(base + "/tasks/" + id));
+            }
+            case CREATE -> {
+                var page = client.send(get(base + "/tasks/creationForm"), HttpResponse.BodyHandlers.ofString());
+                if (page.statusCode() != 200) {
+                    yield page.statusCode();
+                }
+                yield send(client, form(base + "/tasks",
+                        "idempotencyKey=" + encode(field(page.body(), IDEMPOTENCY_KEY_FIELD)) + "&" + taskForm(random)));
+            }
+            case UPDATE -> {
+                var id = ids.pick(random);
+                if (id == null) {
+                    yield null;
+                }
+                var page = client.send(get(base + "/tasks/" + id + "/editForm"), HttpResponse.BodyHandlers.ofString());
+                if (page.statusCode() != 200) {
+                    yield page.statusCode();
+                }
+                yield send(client, form(base + "/tasks/" + id,
+                        "_method=PUT&version=" + encode(field(page.body(), VERSION_FIELD)) + "&" + taskForm(random)));
+            }
+            case DELETE -> {
+                var id = ids.take(random);
+                yield id == null ? null : send(client, form(base + "/tasks/" + id, "_method=DELETE"));
+            }
+        };
+    }
+
+    private static int send(HttpClient client, HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String field(String html, Pattern pattern) {
+        var matcher = pattern.matcher(html);
+        if (!matcher.find()) {
+            throw new IllegalStateException("フォームに hidden 項目がありません: " + pattern);
+        }
+        return matcher.group(1);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest form(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String taskForm(Random random) {
+        return "summary=" + encode(pick(KEYWORDS, random) + " " + random.nextInt(100_000))
+                + "&description=" + encode("負荷試験で作成したタスク")
+                + "&status=" + pick(STATUSES, random);
+    }
+
+    private static List<Long> seed(TaskService taskService, int count, Random random) {
+        var ids = new ArrayList<Long>(count);
+        for (int from = 0; from < count; from += 1000) {
+            var chunk = new ArrayList<TaskEntity>();
+            for (int i = from; i < Math.min(count, from + 1000); i++) {
+                chunk.add(new TaskEntity(null, pick(KEYWORDS, random) + " " + i, "説明 " + i,
+                        TaskStatus.valueOf(pick(STATUSES, random))));
+            }
+            ids.addAll(taskService.createAll(chunk));
+        }
+        return ids;
+    }
+
+    private static Operation choose(Map<Operation, Integer> mix, int totalWeight, Random random) {
+        int r = random.nextInt(totalWeight);
+        for (var entry : mix.entrySet()) {
+            r -= entry.getValue();
+            if (r < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // --key=value 形式の引数
+    private static Map<String, String> parse(String[] args) {
+        var options = new LinkedHashMap<String, String>();
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--key=value の形式で指定してください: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    // list:40,search:30,... の形式
+    private static Map<Operation, Integer> parseMix(String mix) {
+        return List.of(mix.split(",")).stream()
+                .map(entry -> entry.split(":"))
+                .collect(Collectors.toMap(
+                        entry -> Operation.valueOf(entry[0].trim().toUpperCase()),
+                        entry -> Integer.parseInt(entry[1].trim()),
+                        Integer::sum,
+                        () -> new EnumMap<>(Operation.class)));
+    }
+}
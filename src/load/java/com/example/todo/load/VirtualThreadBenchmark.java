@@ -0,0 +1,121 @@
+package com.example.todo.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+
+import com.example.todo.TodoApplication;
+
+/**
+ * 従来のスレッドプール(thread-per-request)と仮想スレッドでのリクエスト処理を比較するベンチマーク。
+ * それぞれのモードでアプリケーションを起動し、多数のクライアントから一覧(/tasks、DB を読む)と
+ * トップ(/、DB を読まない)に同時にリクエストして、スループットとレイテンシを表示する。
+ * 検索キャッシュは無効にし、一覧は毎回 DB を読む。DB には rows 件のタスクを seed で登録しておく。
+ * 結果には Tomcat が実際に使っているスレッドの種類を表示する。
+ *
+ * 実行: ./gradlew virtualThreadBenchmark -Pclients=1000 -Pduration=30 -Prows=100000
+ * 仮想スレッドは Java 21 以降でのみ使えるため、それより前の JVM では比較せずに終了する。
+ */
+public class VirtualThreadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        var duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 100000;
+        var warmup = Duration.ofSeconds(5);
+
+        var results = new ArrayList<String>();
+        for (var virtualThreads : List.of(false, true)) {
+            try (var context = new SpringApplicationBuilder(TodoApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "todo.web.virtual-threads.enabled=" + virtualThreads,
+                            "todo.task.seed.enabled=true",
+                            "todo.task.seed.count=" + rows,
+                            "todo.task.cache.search.enabled=false",
+                            "todo.task.search.coalescing.enabled=false",
+                            "logging.level.com.example.todo.repository=INFO")
+                    .run()) {
+                var webServer = ((WebServerApplicationContext) context).getWebServer();
+                boolean resolvedVirtual = runsOnVirtualThreads(webServer);
+                if (virtualThreads && !resolvedVirtual) {
+                    // 従来のスレッドプール同士の比較を仮想スレッドの結果として表示しない
+                    throw new IllegalStateException("virtual threads are not available on Java " + Runtime.version()
+                            + "; run this benchmark on Java 21 or later");
+                }
+                var label = resolvedVirtual ? "virtual threads" : "platform threads";
+                int port = webServer.getPort();
+                run(port, clients, warmup);
+                var tasks = new LatencyStats();
+                var index = new LatencyStats();
+                run(port, clients, duration, tasks, index);
+                results.add(String.format("%-16s /tasks %s%n%-16s /      %s", label, tasks.summary(duration), "", index.summary(duration)));
+            }
+        }
+
+        System.out.printf("%n%d clients, %ds, %d seeded tasks%n", clients, duration.toSeconds(), rows);
+        results.forEach(System.out::println);
+    }
+
+    // Tomcat のリクエスト処理用 executor で実際にタスクを動かし、そのスレッドが仮想スレッドかを調べる
+    private static boolean runsOnVirtualThreads(WebServer webServer) throws Exception {
+        Executor executor = ((TomcatWebServer) webServer).getTomcat().getConnector().getProtocolHandler().getExecutor();
+        var thread = new CompletableFuture<Thread>();
+        executor.execute(() -> thread.complete(Thread.currentThread()));
+        // Thread.isVirtual は Java 21 で追加されたので、Java 17 でもコンパイルできるようリフレクションで呼ぶ
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread.get(10, TimeUnit.SECONDS));
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static void run(int port, int clients, Duration duration) throws InterruptedException {
+        run(port, clients, duration, new LatencyStats(), new LatencyStats());
+    }
+
+    // 半数のクライアントは /tasks、残りは / を繰り返し要求する
+    private static void run(int port, int clients, Duration duration, LatencyStats tasks, LatencyStats index) throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(clients);
+        var client = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(10)).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        var done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            var stats = i % 2 == 0 ? tasks : index;
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + (i % 2 == 0 ? "/tasks" : "/")))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            executor.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            stats.record(System.nanoTime() - start, response.statusCode() == 200);
+                        } catch (Exception e) {
+                            stats.record(System.nanoTime() - start, false);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdownNow();
+    }
+}
@@ -2,8 +2,12 @@ package com.example.todo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+// R2DBC の接続は ReactiveTaskRepository が持つ。自動構成の ConnectionFactory があると DB 初期化が R2DBC 側に切り替わる
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
 public class TodoApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,68 @@
+package com.example.todo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * todo.web.virtual-threads.enabled=true のとき、Tomcat のリクエスト処理を仮想スレッドで行う。
+ * 仮想スレッドは Java 21 以降でのみ使えるため、それより前の JVM では警告を出して従来のスレッドプールのままにする。
+ * DB の同時接続数は ConnectionLimitingDataSource で接続プールの大きさまでに制限する。
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "todo.web.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        var executor = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> {
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            ObjectProvider<VirtualThreadProperties> propertiesProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                var properties = propertiesProvider.getObject();
+                int maxConcurrency = properties.maxConcurrency() != null ? properties.maxConcurrency()
+                        : dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize()
+                        : 10;
+                log.info("limiting concurrent DB connections of '{}' to {}", beanName, maxConcurrency);
+                return new ConnectionLimitingDataSource(dataSource, maxConcurrency, properties.acquireTimeout());
+            }
+        };
+    }
+
+    // Java 17 でもコンパイルできるよう、Executors.newVirtualThreadPerTaskExecutor はリフレクションで呼ぶ
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            log.info("handling requests on virtual threads");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("virtual threads require Java 21 or later (running on {}); keeping platform threads",
+                    Runtime.version());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 仮想スレッドでのリクエスト処理。
+ * maxConcurrency を省略すると DB 接続プールの最大サイズを同時接続数の上限にする。
+ */
+@ConfigurationProperties("todo.web.virtual-threads")
+public record VirtualThreadProperties(
+        @DefaultValue("false") boolean enabled,
+        Integer maxConcurrency,
+        @DefaultValue("5s") Duration acquireTimeout
+) {
+}
@@ -0,0 +1,43 @@
+package com.example.todo.controller.task;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.todo.service.task.ReactiveTaskService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ノンブロッキングな検索 API。
+ * Spring MVC の非同期処理で Flux を NDJSON として 1 行ずつ書き出すので、待機中にサーブレットスレッドを占有しない。
+ * クライアントへの書き込みが追いつかない場合は、DB からの読み出しも要求した分 (最大 prefetch 件) で止まる。
+ */
+@RestController
+@RequestMapping("/api/reactive/tasks")
+public class ReactiveTaskController {
+    private static final int PREFETCH = 256;
+
+    private final ReactiveTaskService reactiveTaskService;
+
+    public ReactiveTaskController(ReactiveTaskService reactiveTaskService) {
+        this.reactiveTaskService = reactiveTaskService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDTO> search(TaskSearchForm searchForm) {
+        return reactiveTaskService.find(searchForm.toEntity())
+                .limitRate(PREFETCH)
+                .map(TaskDTO::toDTO);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TaskDTO> show(@PathVariable("id") long id) {
+        return reactiveTaskService.findById(id)
+                .map(TaskDTO::toDTO)
+                .switchIfEmpty(Mono.error(TaskNotFoundException::new));
+    }
+}
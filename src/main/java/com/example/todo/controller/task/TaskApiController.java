@@ -0,0 +1,95 @@
+package com.example.todo.controller.task;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.example.todo.service.task.TaskIdempotencyStore;
+import com.example.todo.service.task.TaskService;
+
+/**
+ * タスクの JSON API。
+ * GET は ETag を返し、If-None-Match が一致すれば本文をシリアライズせずに 304 を返す。
+ * POST は Idempotency-Key ヘッダを指定すると、タイムアウト後の再送などで重複して登録されない。
+ */
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskApiController {
+    private final TaskService taskService;
+
+    private final TaskIdempotencyStore idempotencyStore;
+
+    public TaskApiController(TaskService taskService, TaskIdempotencyStore idempotencyStore) {
+        this.taskService = taskService;
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    @GetMapping
+    public ResponseEntity<TaskListDTO> list(TaskSearchForm searchForm, WebRequest request) {
+        // バージョンは検索前に読む。検索中にコミットされた変更は次の検証で古いと判定される
+        var etag = TaskETags.weak(taskService.searchVersion(), searchForm);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        var page = taskService.findPage(searchForm.toEntity(), searchForm.toPageRequest());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(TaskListDTO.toDTO(page, searchForm));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskDTO> show(@PathVariable("id") long id, WebRequest request) {
+        // findById はキャッシュを通すので、キャッシュ済みのタスクなら DB を読まずに検証できる
+        var task = taskService.findById(id).orElseThrow(TaskNotFoundException::new);
+        var etag = TaskETags.strong(task);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(TaskDTO.toDTO(task));
+    }
+
+    @PostMapping
+    public ResponseEntity<TaskDTO> create(@RequestBody @Validated TaskForm form, UriComponentsBuilder uriBuilder,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        // 同じ Idempotency-Key での再送には、登録せずに最初に採番した id で同じレスポンスを返す
+        long id = idempotencyStore.execute("api.tasks.create", idempotencyKey, form, () -> taskService.create(form.toEntity()));
+        // リクエストの version ではなく、作成された行のバージョンを返す
+        var created = form.toEntity().created(id);
+        return ResponseEntity.created(uriBuilder.path("/api/tasks/{id}").build(id))
+                .eTag(TaskETags.strong(created))
+                .body(TaskDTO.toDTO(created));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<TaskDTO> update(@PathVariable("id") long id, @RequestBody @Validated TaskForm form) {
+        taskService.findById(id).orElseThrow(TaskNotFoundException::new);
+        // version を指定した場合、取得後に他の更新があれば 409 になる
+        var updated = taskService.update(form.toEntity(id));
+        return ResponseEntity.ok()
+                .eTag(TaskETags.strong(updated))
+                .body(TaskDTO.toDTO(updated));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable("id") long id) {
+        taskService.delete(id);
+    }
+}
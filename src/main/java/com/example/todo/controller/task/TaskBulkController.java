@@ -0,0 +1,52 @@
+package com.example.todo.controller.task;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.todo.service.task.TaskIdempotencyStore;
+import com.example.todo.service.task.TaskService;
+
+/**
+ * 一括 API。Idempotency-Key ヘッダを指定すると、同じキーでの再送には実行せずに最初の結果を返す。
+ */
+@RestController
+@RequestMapping("/api/tasks/bulk")
+public class TaskBulkController {
+    private final TaskService taskService;
+    private final TaskIdempotencyStore idempotencyStore;
+
+    public TaskBulkController(TaskService taskService, TaskIdempotencyStore idempotencyStore) {
+        this.taskService = taskService;
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public TaskBulkResultDTO create(@RequestBody @Validated TaskBulkForm.Create form,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyStore.execute("api.tasks.bulk.create", idempotencyKey, form,
+                () -> TaskBulkResultDTO.created(taskService.createAll(form.toEntities())));
+    }
+
+    @PutMapping
+    public TaskBulkResultDTO update(@RequestBody @Validated TaskBulkForm.Update form,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyStore.execute("api.tasks.bulk.update", idempotencyKey, form,
+                () -> TaskBulkResultDTO.affected(taskService.updateAll(form.toEntities())));
+    }
+
+    @DeleteMapping
+    public TaskBulkResultDTO delete(@RequestBody @Validated TaskBulkForm.Delete form,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyStore.execute("api.tasks.bulk.delete", idempotencyKey, form,
+                () -> TaskBulkResultDTO.affected(taskService.deleteAll(form.ids())));
+    }
+}
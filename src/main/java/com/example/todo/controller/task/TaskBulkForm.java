@@ -0,0 +1,57 @@
+package com.example.todo.controller.task;
+
+import com.example.todo.service.task.TaskEntity;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 一括 API のリクエストボディ。1 リクエストあたり MAX_SIZE 件まで。
+ */
+public final class TaskBulkForm {
+
+    public static final int MAX_SIZE = 10000;
+
+    private TaskBulkForm() {
+    }
+
+    public record Create(
+            @NotEmpty
+            @Size(max = MAX_SIZE)
+            List<@Valid @NotNull TaskForm> tasks
+    ) {
+        public List<TaskEntity> toEntities() {
+            return tasks().stream().map(TaskForm::toEntity).toList();
+        }
+    }
+
+    public record Update(
+            @NotEmpty
+            @Size(max = MAX_SIZE)
+            List<@Valid @NotNull Item> tasks
+    ) {
+        public List<TaskEntity> toEntities() {
+            return tasks().stream().map(item -> item.task().toEntity(item.id())).toList();
+        }
+    }
+
+    public record Item(
+            @NotNull
+            Long id,
+
+            @Valid
+            @NotNull
+            TaskForm task
+    ) {
+    }
+
+    public record Delete(
+            @NotEmpty
+            @Size(max = MAX_SIZE)
+            List<@NotNull Long> ids
+    ) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.todo.controller.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// 一括 API のレスポンス。作成時は採番された id をリクエストと同じ順で返す
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskBulkResultDTO(
+        List<Long> ids,
+        int count
+) {
+
+    public static TaskBulkResultDTO created(List<Long> ids) {
+        return new TaskBulkResultDTO(ids, ids.size());
+    }
+
+    public static TaskBulkResultDTO affected(int count) {
+        return new TaskBulkResultDTO(null, count);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.todo.controller.task;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.todo.service.task.TaskService;
+
+/**
+ * 同期クライアント向けの変更フィード。
+ * 前回のレスポンスの next を since に渡すと、それ以降に作成・更新されたタスクと削除された id だけを返す。
+ * hasMore が true の間は続けて取得し、false になったら次の同期まで next を保存しておく。
+ */
+@RestController
+@RequestMapping("/api/tasks/changes")
+public class TaskChangesController {
+    private final TaskService taskService;
+
+    public TaskChangesController(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @GetMapping
+    public TaskChangesDTO changes(@RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestParam(name = "size", required = false) Integer size) {
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since は 0 以上で指定してください");
+        }
+        return TaskChangesDTO.toDTO(taskService.findChanges(since, size));
+    }
+}
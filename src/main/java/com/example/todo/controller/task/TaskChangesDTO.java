@@ -0,0 +1,23 @@
+package com.example.todo.controller.task;
+
+import java.util.List;
+
+import com.example.todo.service.task.TaskChange;
+import com.example.todo.service.task.TaskChanges;
+
+public record TaskChangesDTO(
+        List<TaskDTO> changed,
+        List<Long> deleted,
+        long next,
+        boolean hasMore
+) {
+
+    public static TaskChangesDTO toDTO(TaskChanges changes) {
+        return new TaskChangesDTO(
+                changes.changes().stream().filter(change -> !change.deleted()).map(change -> TaskDTO.toDTO(change.toEntity())).toList(),
+                changes.changes().stream().filter(TaskChange::deleted).map(TaskChange::id).toList(),
+                changes.next(),
+                changes.hasMore()
+        );
+    }
+}
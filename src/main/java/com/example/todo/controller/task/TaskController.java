@@ -1,5 +1,8 @@
 package com.example.todo.controller.task;
 
+import java.util.Locale;
+import java.util.UUID;
+
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,34 +10,57 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.example.todo.service.task.TaskConflictException;
+import com.example.todo.service.task.TaskIdempotencyStore;
 import com.example.todo.service.task.TaskService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
 
 @Controller
 @RequestMapping("/tasks")
 public class TaskController {
     private final TaskService taskService;
+    private final ThymeleafViewResolver thymeleafViewResolver;
+    private final TaskIdempotencyStore idempotencyStore;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ThymeleafViewResolver thymeleafViewResolver,
+            TaskIdempotencyStore idempotencyStore) {
         this.taskService = taskService;
+        this.thymeleafViewResolver = thymeleafViewResolver;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @GetMapping
     public String List(TaskSearchForm searchForm, Model model) {
-        var taskList = taskService.find(searchForm.toEntity())
+        var page = taskService.findSummaryPage(searchForm.toEntity(), searchForm.toPageRequest());
+        var taskList = page.tasks()
                 .stream()
-                .map(entity -> TaskDTO.toDTO(entity))
+                .map(TaskSummaryDTO::toDTO)
                 .toList();
 
         model.addAttribute("taskList", taskList);
+        model.addAttribute("page", TaskPageDTO.toDTO(page, searchForm));
         model.addAttribute("searchDTO", searchForm.toDTO());
         return "tasks/list";
     }
 
+    // ページングせずに全件を表示する。行はDBカーソルから逐次描画される
+    @GetMapping("/all")
+    public View listAll(TaskSearchForm searchForm, Model model, Locale locale) throws Exception {
+        model.addAttribute("searchDTO", searchForm.toDTO());
+        var listView = thymeleafViewResolver.resolveViewName("tasks/list", locale);
+        return new TaskStreamingView(listView, taskService, searchForm.toEntity());
+    }
+
     @GetMapping("/{id}")
     public String showDetail(@PathVariable("id") long taskId, Model model) {
 
@@ -48,15 +74,21 @@ public class TaskController {
     @GetMapping("/creationForm")
     public String showCreationForm(@ModelAttribute TaskForm form, Model model) {
         model.addAttribute("mode", "CREATE");
+        // 二重送信やリロードでの再送を見分けるため、フォームごとにキーを発行する
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
         return "tasks/form";
     }
 
+    // キーは Idempotency-Key ヘッダ、なければ作成フォームの hidden 項目から受け取る
     @PostMapping
-    public String createTask(@Validated TaskForm form, BindingResult bindingResult, Model model) {
+    public String createTask(@Validated TaskForm form, BindingResult bindingResult, Model model,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestParam(name = "idempotencyKey", required = false) String formIdempotencyKey) {
         if (bindingResult.hasErrors()) {
             return showCreationForm(form, model);
         }
-        taskService.create(form.toEntity());
+        var key = idempotencyKey != null ? idempotencyKey : formIdempotencyKey;
+        idempotencyStore.execute("tasks.create", key, form, () -> taskService.create(form.toEntity()));
 
         return "redirect:/tasks";
     }
@@ -74,13 +106,22 @@ public class TaskController {
 
     @PutMapping("{id}")
     public String update(@PathVariable("id") long id, @Validated @ModelAttribute TaskForm form,
-            BindingResult bindingResult, Model model) {
+            BindingResult bindingResult, Model model, HttpServletResponse response) {
         if (bindingResult.hasErrors()) {
             model.addAttribute("mode", "EDIT");
             return "tasks/form";
         }
-        var entity = form.toEntity(id);
-        taskService.update(entity);
+        try {
+            taskService.update(form.toEntity(id));
+        } catch (TaskConflictException e) {
+            var current = e.current().orElseThrow(TaskNotFoundException::new);
+            // 入力内容は残し、他のユーザーの変更を並べて表示する。確認して再送すれば最新のバージョンに対して更新される
+            response.setStatus(HttpStatus.CONFLICT.value());
+            model.addAttribute("taskForm", form.withVersion(current.version()));
+            model.addAttribute("conflict", TaskDTO.toDTO(current));
+            model.addAttribute("mode", "EDIT");
+            return "tasks/form";
+        }
         return "redirect:/tasks/{id}";
     }
 
@@ -0,0 +1,108 @@
+package com.example.todo.controller.task;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 形式の CSV を 1 レコードずつ読み出すリーダー。
+ * ダブルクォートで囲んだフィールド内のカンマ・改行・"" のエスケープに対応する。
+ * 先頭の BOM (Excel などが付ける U+FEFF) は読み飛ばす。
+ * 閉じられていないクォートなどで 1 レコードが maxRecordLength 文字を超えた場合は MalformedCsvException を投げる。
+ */
+class TaskCsvReader implements Closeable {
+
+    private final BufferedReader reader;
+
+    private final int maxRecordLength;
+
+    private long recordNumber;
+
+    TaskCsvReader(Reader reader, int maxRecordLength) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    // 直前に読んだレコードの番号 (1 始まり、ヘッダを含む)
+    long recordNumber() {
+        return recordNumber;
+    }
+
+    // 次のレコードのフィールド。ファイルの終わりでは null
+    List<String> next() throws IOException {
+        int c = reader.read();
+        if (recordNumber == 0 && c == '\uFEFF') {
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordNumber++;
+
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (++length > maxRecordLength) {
+                throw new MalformedCsvException(recordNumber, "レコードが長すぎます");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedCsvException(recordNumber, "ダブルクォートが閉じられていません");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    static class MalformedCsvException extends IOException {
+
+        private final long recordNumber;
+
+        MalformedCsvException(long recordNumber, String message) {
+            super(message);
+            this.recordNumber = recordNumber;
+        }
+
+        long recordNumber() {
+            return recordNumber;
+        }
+    }
+}
@@ -8,7 +8,10 @@ public record TaskDTO(
     String summary,
 
     String description,
-    String status
+    String status,
+
+    // 更新 API に渡すと、取得後の他の更新との競合を確認できる
+    Long version
 
 
 
@@ -22,7 +25,8 @@ public record TaskDTO(
             entity.id(),
             entity.summary(),
             entity.description(),
-            entity.status().name()
+            entity.status().name(),
+            entity.version()
         );
     }
 
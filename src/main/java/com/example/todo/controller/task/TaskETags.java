@@ -0,0 +1,64 @@
+package com.example.todo.controller.task;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.util.DigestUtils;
+
+import com.example.todo.service.task.TaskEntity;
+
+/**
+ * /api/tasks の ETag。
+ * タスク単体は内容とバージョンから計算する強い ETag、検索結果は検索結果のバージョンと条件から作る弱い ETag を使う。
+ * どちらもレスポンスをシリアライズせずに計算できる。
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    // 内容を元に戻す更新でもバージョンは進むので、バージョンも含めて古い version での 304 を防ぐ
+    static String strong(TaskEntity task) {
+        var content = task.id() + "\0" + task.summary() + "\0" + task.description() + "\0" + task.status()
+                + "\0" + task.version();
+        return "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // 検索結果は DB を読まずに検証できるよう、書き込みバージョンから作る。
+    // 条件は hashCode だと別の条件と衝突して誤って 304 を返しうるので、正規化してから SHA-256 で要約する
+    static String weak(String searchVersion, TaskSearchForm searchForm) {
+        var criteria = new StringBuilder();
+        append(criteria, searchForm.summary() == null || searchForm.summary().isBlank() ? null : searchForm.summary());
+        var statuses = searchForm.status() == null ? List.<String>of() : searchForm.status().stream().distinct().sorted().toList();
+        criteria.append(statuses.size()).append(';');
+        statuses.forEach(status -> append(criteria, status));
+        append(criteria, searchForm.after());
+        append(criteria, searchForm.before());
+        append(criteria, searchForm.size());
+        // 総件数は count=false のときだけ省略する (TaskSearchForm.toPageRequest と同じ)
+        append(criteria, !Boolean.FALSE.equals(searchForm.count()));
+        return "W/\"" + searchVersion + "-" + sha256Hex(criteria.toString()) + "\"";
+    }
+
+    // 区切り文字を含む値でも別の条件と同じ並びにならないよう、長さを前に付ける (null は "-")
+    private static void append(StringBuilder criteria, Object value) {
+        if (value == null) {
+            criteria.append("-;");
+            return;
+        }
+        var text = value.toString();
+        criteria.append(text.length()).append(':').append(text).append(';');
+    }
+
+    private static String sha256Hex(String text) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
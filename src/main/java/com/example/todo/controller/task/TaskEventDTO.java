@@ -0,0 +1,23 @@
+package com.example.todo.controller.task;
+
+import com.example.todo.service.task.TaskChangedEvent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// 削除の場合 task は出力しない
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskEventDTO(
+        long id,
+        String type,
+        TaskDTO task
+) {
+
+    public static TaskEventDTO toDTO(TaskChangedEvent event) {
+        var task = event.task();
+        return new TaskEventDTO(
+                event.id(),
+                event.type().name(),
+                // version を含めるので、購読側はそのまま条件付きの更新に使える
+                task == null ? null : TaskDTO.toDTO(task)
+        );
+    }
+}
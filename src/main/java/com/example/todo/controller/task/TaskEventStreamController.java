@@ -0,0 +1,120 @@
+package com.example.todo.controller.task;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.todo.service.task.TaskEventBuffer;
+import com.example.todo.service.task.TaskEventProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * タスクの作成・更新・削除を Server-Sent Events で配信する。
+ * イベントの id は TaskEventBuffer の通し番号で、再接続時の Last-Event-ID からその続きを送る。
+ * Last-Event-ID の続きがすでにバッファから消えている場合は reset イベントを送る。
+ * 番号はこのインスタンスでのコミット順なので、複数インスタンスで動かす場合は /api/tasks/changes を併用すること。
+ * 送信は必要に応じて増えるスレッドで行い、送信が sendTimeout を超えたクライアントは切断するので、
+ * 止まったクライアントが他の購読者への配信を止めることはない。
+ */
+@RestController
+@RequestMapping("/api/tasks/events")
+public class TaskEventStreamController {
+    private final TaskEventBuffer buffer;
+    private final TaskEventProperties properties;
+    private final Counter resets;
+    private final Counter dropped;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeats;
+    private final Set<TaskEventSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    public TaskEventStreamController(TaskEventBuffer buffer, TaskEventProperties properties, MeterRegistry meterRegistry) {
+        this.buffer = buffer;
+        this.properties = properties;
+        this.resets = meterRegistry.counter("tasks.events.resets");
+        this.dropped = meterRegistry.counter("tasks.events.dropped");
+        Gauge.builder("tasks.events.subscribers", subscriptions, Set::size).register(meterRegistry);
+        // 送信の遅いクライアントがスレッドを占有しても、書き込み側は executor に積むだけなので待たされない
+        this.dispatcher = newDispatcher(properties.dispatchThreads());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "task-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.heartbeat().toMillis();
+        heartbeats.scheduleAtFixedRate(() -> subscriptions.forEach(TaskEventSubscription::heartbeat),
+                interval, interval, TimeUnit.MILLISECONDS);
+        long timeout = properties.sendTimeout().toNanos();
+        long checkInterval = Math.max(1, properties.sendTimeout().toMillis() / 2);
+        heartbeats.scheduleAtFixedRate(() -> expire(timeout), checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 送信用の executor。常駐は coreThreads 本で、送信中の購読者がそれより多ければスレッドを足す。
+     * 固定数のプールだと、その数だけのクライアントが止まると他のすべての購読者への配信が止まるため。
+     * 同時に送信中になるのは購読者の数までなので、スレッド数も購読者の数で抑えられる。
+     */
+    static ExecutorService newDispatcher(int coreThreads) {
+        return new ThreadPoolExecutor(coreThreads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    var thread = new Thread(runnable, "task-events");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // 送信が止まった購読者を切断する。クライアントは Last-Event-ID で再接続すれば続きから受け取れる
+    private void expire(long timeoutNanos) {
+        long now = System.nanoTime();
+        for (var subscription : subscriptions) {
+            if (subscription.expire(now, timeoutNanos)) {
+                dropped.increment();
+            }
+        }
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        var emitter = new SseEmitter(properties.timeout().toMillis());
+        long from = lastEventId == null ? buffer.head() : lastEventId + 1;
+        var subscription = new TaskEventSubscription(emitter, buffer, dispatcher, properties.batchSize(), resets, from);
+
+        // 登録と解除で同じインスタンスを使う
+        Runnable listener = subscription::signal;
+        Runnable unsubscribe = () -> {
+            subscription.close();
+            buffer.removeListener(listener);
+            subscriptions.remove(subscription);
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        subscriptions.add(subscription);
+        buffer.addListener(listener);
+        // Last-Event-ID 以降にすでにあるイベントを送る
+        subscription.signal();
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+}
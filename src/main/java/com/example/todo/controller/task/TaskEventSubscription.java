@@ -0,0 +1,180 @@
+package com.example.todo.controller.task;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.todo.service.task.TaskEventBuffer;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * 1 クライアント分の SSE 配信。
+ * 書き込み側からの通知 (signal) は送信タスクを executor に積むだけで、送信の完了を待たない。
+ * 送信は購読ごとに直列で、自分の位置からバッファを読んで送る。
+ * 送信が遅れてバッファに追い越された場合は reset イベントを送り、最新の位置から配信を続ける
+ * (クライアントは /api/tasks/changes で同期し直す)。
+ * 送信が止まったクライアントは expire で切断し、送信中のスレッドを解放させる。
+ */
+class TaskEventSubscription implements Runnable {
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    // sendState の値。SENDING から INTERRUPTING に変えられるのは expire だけで、変えた expire が割り込みを終えると INTERRUPTED になる
+    private static final int NOT_SENDING = 0;
+    private static final int SENDING = 1;
+    private static final int INTERRUPTING = 2;
+    private static final int INTERRUPTED = 3;
+
+    private final SseEmitter emitter;
+
+    private final TaskEventBuffer buffer;
+
+    private final Executor executor;
+
+    private final int batchSize;
+
+    private final Counter resets;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+    // 送信中の emitter.send を開始した時刻 (System.nanoTime)。送信中でなければ IDLE
+    private volatile long sendingSince = IDLE;
+
+    private volatile Thread sender;
+
+    // sender がこの購読の emitter.send を実行中かどうか。送信の終了と expire の割り込みを CAS で取り合う
+    private final AtomicInteger sendState = new AtomicInteger(NOT_SENDING);
+
+    private volatile boolean expired;
+
+    private volatile boolean closed;
+
+    // 次に送るイベントの番号
+    private volatile long cursor;
+
+    TaskEventSubscription(SseEmitter emitter, TaskEventBuffer buffer, Executor executor, int batchSize, Counter resets, long from) {
+        this.emitter = emitter;
+        this.buffer = buffer;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.resets = resets;
+        this.cursor = from;
+    }
+
+    // 書き込み側のスレッドから呼ばれる。実行待ちの送信があれば何もしない
+    void signal() {
+        if (!closed && scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+
+    // 中継するプロキシに接続を切られないよう、イベントがなくてもコメント行を送る
+    void heartbeat() {
+        heartbeatDue.set(true);
+        signal();
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * 送信が timeoutNanos を超えて終わっていなければ購読を閉じ、送信中のスレッドに割り込む。
+     * emitter の完了は送信中のスレッドが行う (送信中は emitter のロックを持っているため、ここでは待たない)。
+     * 割り込むのは sendState を SENDING から取れた場合だけで、送信側はその割り込みが終わるまで send から戻らないので、
+     * 送信を終えたスレッドが他の購読の送信に移ってから割り込まれることはない。
+     */
+    boolean expire(long now, long timeoutNanos) {
+        long since = sendingSince;
+        if (closed || since == IDLE || now - since < timeoutNanos) {
+            return false;
+        }
+        expired = true;
+        closed = true;
+        if (sendState.compareAndSet(SENDING, INTERRUPTING)) {
+            sender.interrupt();
+            sendState.set(INTERRUPTED);
+        }
+        return true;
+    }
+
+    @Override
+    public void run() {
+        sender = Thread.currentThread();
+        try {
+            boolean sent = drain();
+            if (heartbeatDue.getAndSet(false) && !sent && !closed) {
+                send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | RuntimeException e) {
+            // 切断されたクライアント。完了の通知で購読が解除される
+            closed = true;
+            emitter.completeWithError(e);
+        } finally {
+            sender = null;
+            // 常駐スレッドは他の購読の送信にも使うので、割り込みの状態を残さない
+            Thread.interrupted();
+            scheduled.set(false);
+        }
+        // 送信中に届いた通知は scheduled のため捨てられているので、解除後に残りがないか確認する
+        if (!closed && (cursor < buffer.head() || heartbeatDue.get())) {
+            signal();
+        }
+    }
+
+    private boolean drain() throws IOException {
+        boolean sent = false;
+        while (!closed) {
+            var slice = buffer.read(cursor, batchSize);
+            if (slice.overrun()) {
+                cursor = buffer.head();
+                resets.increment();
+                send(SseEmitter.event().name("reset").data(cursor));
+                sent = true;
+                continue;
+            }
+            if (slice.events().isEmpty()) {
+                return sent;
+            }
+            for (var record : slice.events()) {
+                var event = record.event();
+                send(SseEmitter.event()
+                        .id(Long.toString(record.sequence()))
+                        .name(event.type().name().toLowerCase())
+                        .data(TaskEventDTO.toDTO(event), MediaType.APPLICATION_JSON));
+                cursor = record.sequence() + 1;
+                sent = true;
+            }
+        }
+        return sent;
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        sendState.set(SENDING);
+        sendingSince = System.nanoTime();
+        try {
+            emitter.send(event);
+        } finally {
+            sendingSince = IDLE;
+            if (!sendState.compareAndSet(SENDING, NOT_SENDING)) {
+                // expire が割り込もうとしている。割り込みが届くまで待ってから状態を消す
+                while (sendState.get() != INTERRUPTED) {
+                    Thread.onSpinWait();
+                }
+                Thread.interrupted();
+                sendState.set(NOT_SENDING);
+            }
+        }
+        // 割り込みに反応せずに送信が終わった場合も、タイムアウトした購読はここで切断する
+        if (expired) {
+            throw new IOException("SSE の送信がタイムアウトしました");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.todo.controller.task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * /tasks と同じ検索条件でタスクを CSV / NDJSON としてエクスポートする。
+ * id のシークで chunkSize 件ずつ読み、書き出してから次を読むので、
+ * メモリに載るのは 1 チャンク分だけで、クライアントへの書き込みを待つ間は DB 接続を保持しない。
+ * gzip は server.compression の設定で Accept-Encoding に応じて適用される。
+ * 大きなエクスポートが打ち切られないよう、このレスポンスの非同期処理にだけ todo.task.export.timeout を適用する。
+ */
+@RestController
+@RequestMapping("/api/tasks/export")
+public class TaskExportController {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final long timeoutMillis;
+
+    public TaskExportController(TaskService taskService, ObjectMapper objectMapper,
+            TaskExportProperties properties) {
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = properties.chunkSize();
+        this.timeoutMillis = properties.timeout().toMillis();
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(TaskSearchForm searchForm,
+            @RequestParam(name = "format", defaultValue = "csv") String format, HttpServletRequest request) {
+        var condition = searchForm.toEntity();
+        // StreamingResponseBody の非同期処理は WebAsyncTask を経由しないので、開始直前にタイムアウトを差し替える
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(TaskExportController.class, new ExportTimeout(timeoutMillis));
+        return switch (format) {
+            case "csv" -> response(TEXT_CSV, "tasks.csv", out -> writeCsv(condition, out));
+            case "ndjson" -> response(MediaType.APPLICATION_NDJSON, "tasks.ndjson", out -> writeNdjson(condition, out));
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format は csv または ndjson で指定してください");
+        };
+    }
+
+    private ResponseEntity<StreamingResponseBody> response(MediaType contentType, String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private void writeCsv(TaskSearchEntity condition, OutputStream out) throws IOException {
+        var writer = writer(out);
+        var csv = new TaskCsvWriter(writer);
+        csv.write(List.of("id", "summary", "description", "status"));
+        forEachChunk(condition, chunk -> {
+            for (var task : chunk) {
+                var dto = TaskDTO.toDTO(task);
+                csv.write(Arrays.asList(String.valueOf(dto.id()), dto.summary(), dto.description(), dto.status()));
+            }
+            csv.flush();
+        });
+        csv.flush();
+    }
+
+    private void writeNdjson(TaskSearchEntity condition, OutputStream out) throws IOException {
+        var writer = writer(out);
+        forEachChunk(condition, chunk -> {
+            for (var task : chunk) {
+                writer.write(objectMapper.writeValueAsString(TaskDTO.toDTO(task)));
+                writer.write('\n');
+            }
+            writer.flush();
+        });
+        writer.flush();
+    }
+
+    private void forEachChunk(TaskSearchEntity condition, ChunkWriter chunkWriter) throws IOException {
+        Long after = null;
+        while (true) {
+            var chunk = taskService.findAfter(condition, after, chunkSize);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            chunkWriter.write(chunk);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            after = chunk.get(chunk.size() - 1).id();
+        }
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    private record ExportTimeout(long timeoutMillis) implements CallableProcessingInterceptor {
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            if (request instanceof AsyncWebRequest asyncWebRequest) {
+                asyncWebRequest.setTimeout(timeoutMillis);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(List<TaskEntity> chunk) throws IOException;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.todo.controller.task;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// CSV / NDJSON エクスポート。chunkSize 件ずつ DB から読み、書き出してから次を読む。
+// timeout はエクスポートのレスポンスだけに適用する非同期処理のタイムアウト (他のエンドポイントは spring.mvc.async.request-timeout のまま)
+@ConfigurationProperties("todo.task.export")
+public record TaskExportProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("30m") Duration timeout
+) {
+}
@@ -15,26 +15,34 @@ public record TaskForm(
 
         @NotBlank
         @Pattern(regexp = "TODO|DOING|DONE", message = "ステータスはTODO, DOING, DONEのいずれかで指定してください")
-        String status
+        String status,
+
+        // 編集画面を開いた時点のバージョン。更新時に他の更新と競合していないかの確認に使う (省略時は確認しない)
+        Long version
 
 ) {
     // Keep a single canonical constructor for frameworks that rely on it (Spring MVC model binding).
     // Provide a static factory when a TaskStatus is more convenient to callers.
     public static TaskForm of(String summary, String description, TaskStatus status) {
-        return new TaskForm(summary, description, status.name());
+        return new TaskForm(summary, description, status.name(), null);
     }
     public TaskEntity toEntity() {
         return new TaskEntity(null, summary(), description(), TaskStatus.valueOf(status()));
     }
     public TaskEntity toEntity(long id) {
-        return new TaskEntity(id, summary(), description(), TaskStatus.valueOf(status()));
+        return new TaskEntity(id, summary(), description(), TaskStatus.valueOf(status()), version());
+    }
+
+    public TaskForm withVersion(Long version) {
+        return new TaskForm(summary(), description(), status(), version);
     }
 
     public static TaskForm fromEntity(TaskEntity taskEntity) {
         return new TaskForm(
                 taskEntity.summary(),
                 taskEntity.description(),
-                taskEntity.status().name()
+                taskEntity.status().name(),
+                taskEntity.version()
         );
     }
 
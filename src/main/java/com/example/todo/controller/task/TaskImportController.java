@@ -0,0 +1,172 @@
+package com.example.todo.controller.task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validator;
+
+/**
+ * CSV / NDJSON のタスク取り込み。リクエストボディを 1 行ずつ読み、
+ * TaskForm と同じ規則で検証した行を chunkSize 件ごとに 1 トランザクションで一括登録する。
+ * ファイル全体をメモリに載せないため、ファイルサイズによらずヒープ使用量は一定。
+ */
+@RestController
+@RequestMapping("/api/tasks/import")
+public class TaskImportController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    // 閉じられていないクォートや改行のない入力で 1 レコード (NDJSON は 1 行) が際限なく伸びるのを防ぐ
+    private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+
+    private final TaskService taskService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public TaskImportController(TaskService taskService, Validator validator, ObjectMapper objectMapper,
+            TaskImportProperties properties) {
+        this.taskService = taskService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = properties.chunkSize();
+        this.maxErrors = properties.maxErrors();
+    }
+
+    // 1 行目はヘッダ (summary, description, status。順不同、description は省略可)
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    public TaskImportResultDTO importCsv(InputStream body) throws IOException {
+        var importer = new Importer();
+        try (var csv = new TaskCsvReader(new InputStreamReader(body, StandardCharsets.UTF_8), MAX_RECORD_LENGTH)) {
+            var header = csv.next();
+            if (header == null) {
+                return importer.finish();
+            }
+            int summaryColumn = header.indexOf("summary");
+            int descriptionColumn = header.indexOf("description");
+            int statusColumn = header.indexOf("status");
+            if (summaryColumn < 0 || statusColumn < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ヘッダに summary と status が必要です");
+            }
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+                if (record.size() != header.size()) {
+                    importer.reject(csv.recordNumber(), List.of("列数がヘッダと一致しません"));
+                    continue;
+                }
+                importer.accept(csv.recordNumber(), new TaskForm(
+                        record.get(summaryColumn),
+                        descriptionColumn < 0 ? null : record.get(descriptionColumn),
+                        record.get(statusColumn),
+                        null));
+            }
+        } catch (TaskCsvReader.MalformedCsvException e) {
+            // 以降のレコード境界が信用できないので、そこで読み込みをやめる
+            importer.reject(e.recordNumber(), List.of(e.getMessage()));
+        }
+        return importer.finish();
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public TaskImportResultDTO importNdjson(InputStream body) throws IOException {
+        var importer = new Importer();
+        try (var lines = new TaskLineReader(new InputStreamReader(body, StandardCharsets.UTF_8), MAX_RECORD_LENGTH)) {
+            while (true) {
+                String line;
+                try {
+                    line = lines.next();
+                } catch (TaskLineReader.LineTooLongException e) {
+                    // 行の境界は保たれているので、その行だけを失敗として次の行に進む
+                    importer.reject(e.lineNumber(), List.of(e.getMessage()));
+                    continue;
+                }
+                if (line == null) {
+                    break;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                TaskForm form;
+                try {
+                    form = objectMapper.readValue(line, TaskForm.class);
+                } catch (JsonProcessingException e) {
+                    importer.reject(lines.lineNumber(), List.of("JSON として解析できません"));
+                    continue;
+                }
+                importer.accept(lines.lineNumber(), form);
+            }
+        }
+        return importer.finish();
+    }
+
+    // 検証済みの行を chunkSize 件ずつ登録し、件数とエラーを集計する
+    private class Importer {
+        private final List<Long> chunkRows = new ArrayList<>();
+        private final List<TaskEntity> chunk = new ArrayList<>();
+        private final List<TaskImportResultDTO.RowError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void accept(long row, TaskForm form) {
+            var violations = validator.validate(form);
+            if (!violations.isEmpty()) {
+                reject(row, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .toList());
+                return;
+            }
+            chunkRows.add(row);
+            chunk.add(form.toEntity());
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, List<String> messages) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new TaskImportResultDTO.RowError(row, messages));
+            }
+        }
+
+        TaskImportResultDTO finish() {
+            flush();
+            return new TaskImportResultDTO(imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                imported += taskService.createAll(List.copyOf(chunk)).size();
+            } catch (RuntimeException e) {
+                // チャンク単位でロールバックされるので、含まれていた行をすべて失敗として報告する
+                chunkRows.forEach(row -> reject(row, List.of("登録に失敗しました: " + e.getClass().getSimpleName())));
+            }
+            chunkRows.clear();
+            chunk.clear();
+        }
+    }
+}
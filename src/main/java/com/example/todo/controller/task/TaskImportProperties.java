@@ -0,0 +1,12 @@
+package com.example.todo.controller.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// CSV / NDJSON 取り込み。chunkSize 件ごとに 1 トランザクションで登録し、エラーは maxErrors 件まで返す
+@ConfigurationProperties("todo.task.import")
+public record TaskImportProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("100") int maxErrors
+) {
+}
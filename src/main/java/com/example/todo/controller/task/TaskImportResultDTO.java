@@ -0,0 +1,21 @@
+package com.example.todo.controller.task;
+
+import java.util.List;
+
+/**
+ * 取り込み結果。errors は先頭から最大件数までで、超えた分は errorsTruncated で示す。
+ */
+public record TaskImportResultDTO(
+        long imported,
+        long failed,
+        List<RowError> errors,
+        boolean errorsTruncated
+) {
+
+    // row はファイル中の行番号 (CSV はヘッダを 1 行目とするレコード番号)
+    public record RowError(
+            long row,
+            List<String> messages
+    ) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.todo.controller.task;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * NDJSON などの行単位の入力を 1 行ずつ読み出すリーダー。改行は \n・\r\n・\r のいずれでもよい。
+ * BufferedReader.readLine と違い、maxLineLength 文字を超えた行はバッファに溜めずに行末まで読み捨て、
+ * LineTooLongException を投げる。行の境界は保たれるので、続けて next を呼べば次の行から読める。
+ */
+class TaskLineReader implements Closeable {
+
+    private final BufferedReader reader;
+
+    private final int maxLineLength;
+
+    private long lineNumber;
+
+    TaskLineReader(Reader reader, int maxLineLength) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.maxLineLength = maxLineLength;
+    }
+
+    // 直前に読んだ行の番号 (1 始まり)
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    // 次の行 (改行を含まない)。ファイルの終わりでは null
+    String next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        lineNumber++;
+
+        var line = new StringBuilder();
+        boolean tooLong = false;
+        while (c != -1 && c != '\n' && c != '\r') {
+            if (!tooLong && line.length() == maxLineLength) {
+                tooLong = true;
+                line = null;
+            }
+            if (!tooLong) {
+                line.append((char) c);
+            }
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        if (tooLong) {
+            throw new LineTooLongException(lineNumber);
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    static class LineTooLongException extends IOException {
+
+        private final long lineNumber;
+
+        LineTooLongException(long lineNumber) {
+            super("行が長すぎます");
+            this.lineNumber = lineNumber;
+        }
+
+        long lineNumber() {
+            return lineNumber;
+        }
+    }
+}
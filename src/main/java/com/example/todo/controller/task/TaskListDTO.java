@@ -0,0 +1,25 @@
+package com.example.todo.controller.task;
+
+import java.util.List;
+
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskListDTO(
+        List<TaskDTO> tasks,
+        Long totalCount,
+        String previousUrl,
+        String nextUrl
+) {
+
+    public static TaskListDTO toDTO(TaskPage<TaskEntity> page, TaskSearchForm searchForm) {
+        return new TaskListDTO(
+                page.tasks().stream().map(TaskDTO::toDTO).toList(),
+                page.totalCount(),
+                page.hasPrevious() ? searchForm.pageUrl("/api/tasks", null, page.firstId()) : null,
+                page.hasNext() ? searchForm.pageUrl("/api/tasks", page.lastId(), null) : null
+        );
+    }
+}
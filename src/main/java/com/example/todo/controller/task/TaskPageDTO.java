@@ -0,0 +1,24 @@
+package com.example.todo.controller.task;
+
+import com.example.todo.service.task.TaskPage;
+
+public record TaskPageDTO(
+        Long totalCount,
+        String previousUrl,
+        String nextUrl,
+        String allUrl
+) {
+
+    public static TaskPageDTO toDTO(TaskPage<?> page, TaskSearchForm searchForm) {
+        return new TaskPageDTO(
+                page.totalCount(),
+                page.hasPrevious() ? searchForm.pageUrl(null, page.firstId()) : null,
+                page.hasNext() ? searchForm.pageUrl(page.lastId(), null) : null,
+                searchForm.allUrl()
+        );
+    }
+
+    public boolean hasLinks() {
+        return previousUrl != null || nextUrl != null;
+    }
+}
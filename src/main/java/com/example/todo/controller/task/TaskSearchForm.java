@@ -1,14 +1,20 @@
 package com.example.todo.controller.task;
 
+import com.example.todo.service.task.TaskPageRequest;
 import com.example.todo.service.task.TaskSearchEntity;
 import com.example.todo.service.task.TaskStatus;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
 import java.util.Optional;
 
 public record TaskSearchForm(
         String summary,
-        List<String> status
+        List<String> status,
+        Long after,
+        Long before,
+        Integer size,
+        Boolean count
 ) {
     public TaskSearchEntity toEntity() {
         var statusEntityList = Optional.ofNullable(status())
@@ -18,7 +24,40 @@ public record TaskSearchForm(
         return new TaskSearchEntity(summary(), statusEntityList);
     }
 
+    public TaskPageRequest toPageRequest() {
+        // count=false が指定されたときだけ総件数の取得を省略する
+        return new TaskPageRequest(after(), before(), size(), !Boolean.FALSE.equals(count()));
+    }
+
     public TaskSearchDTO toDTO() {
         return new TaskSearchDTO(summary(), status());
     }
+
+    // 検索条件を引き継いだページ遷移用の URL (コンテキストパスを含まない)
+    public String pageUrl(Long after, Long before) {
+        return pageUrl("/tasks", after, before);
+    }
+
+    public String pageUrl(String path, Long after, Long before) {
+        var builder = criteriaUrl(path);
+        Optional.ofNullable(after).ifPresent(id -> builder.queryParam("after", id));
+        Optional.ofNullable(before).ifPresent(id -> builder.queryParam("before", id));
+        Optional.ofNullable(size()).ifPresent(s -> builder.queryParam("size", s));
+        Optional.ofNullable(count()).ifPresent(c -> builder.queryParam("count", c));
+        return builder.encode().toUriString();
+    }
+
+    // 検索条件を引き継いだ全件表示用の URL
+    public String allUrl() {
+        return criteriaUrl("/tasks/all").encode().toUriString();
+    }
+
+    private UriComponentsBuilder criteriaUrl(String path) {
+        var builder = UriComponentsBuilder.fromPath(path);
+        if (summary() != null && !summary().isBlank()) {
+            builder.queryParam("summary", summary());
+        }
+        Optional.ofNullable(status()).ifPresent(statusList -> statusList.forEach(s -> builder.queryParam("status", s)));
+        return builder;
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.todo.controller.task;
+
+import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.View;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+/**
+ * 一覧テンプレートの描画を読み取り専用トランザクションの中で行い、
+ * MyBatis のカーソルから読んだ行をそのまま th:each に流し込む View。
+ * 行はテンプレートの出力に合わせて逐次書き出されるため、件数が増えてもヒープ使用量は一定になる。
+ */
+class TaskStreamingView implements View {
+
+    private final View delegate;
+    private final TaskService taskService;
+    private final TaskSearchEntity condition;
+
+    TaskStreamingView(View delegate, TaskService taskService, TaskSearchEntity condition) {
+        this.delegate = delegate;
+        this.taskService = taskService;
+        this.condition = condition;
+    }
+
+    @Override
+    public String getContentType() {
+        return delegate.getContentType();
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) {
+        taskService.scan(condition, tasks -> {
+            var taskList = StreamSupport.stream(Spliterators.spliteratorUnknownSize(tasks, Spliterator.ORDERED), false)
+                    .map(TaskSummaryDTO::toDTO)
+                    .iterator();
+
+            Map<String, Object> streamingModel = new HashMap<>(model);
+            streamingModel.put("taskList", taskList);
+            try {
+                delegate.render(streamingModel, request, response);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("タスク一覧の描画に失敗しました", e);
+            }
+        });
+    }
+}
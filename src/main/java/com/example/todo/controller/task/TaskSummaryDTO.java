@@ -0,0 +1,19 @@
+package com.example.todo.controller.task;
+
+import com.example.todo.service.task.TaskSummaryEntity;
+
+// 一覧画面の 1 行。description は持たない
+public record TaskSummaryDTO(
+        long id,
+        String summary,
+        String status
+) {
+
+    public static TaskSummaryDTO toDTO(TaskSummaryEntity entity) {
+        return new TaskSummaryDTO(
+                entity.id(),
+                entity.summary(),
+                entity.status().name()
+        );
+    }
+}
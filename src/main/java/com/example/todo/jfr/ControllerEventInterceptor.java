@@ -0,0 +1,110 @@
+package com.example.todo.jfr;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.TreeSet;
+
+/**
+ * ハンドラーの実行とビューの描画を JFR イベントとして記録する。
+ * イベントが記録対象でなければリクエスト属性にも何も保存しない。
+ * ハンドラーのイベントは postHandle で終了時刻だけを記録し、afterCompletion でコミットする
+ * (例外を投げたハンドラーでは postHandle が呼ばれないため)。
+ * SSE やストリーミングなどの非同期レスポンスは afterConcurrentHandlingStarted でコミットし、
+ * 結果を返すための非同期ディスパッチは記録しない。
+ */
+class ControllerEventInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String HANDLER_EVENT = ControllerEventInterceptor.class.getName() + ".handler";
+
+    // postHandle でハンドラーのイベントを終了済みかどうか
+    private static final String HANDLER_ENDED = ControllerEventInterceptor.class.getName() + ".handlerEnded";
+
+    private static final String RENDER_EVENT = ControllerEventInterceptor.class.getName() + ".render";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        var event = new ControllerHandlerEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(HANDLER_EVENT, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        if (request.getAttribute(HANDLER_EVENT) instanceof ControllerHandlerEvent event) {
+            // 描画の時間を含めないよう、ここで終了させてコミットは afterCompletion で行う
+            event.end();
+            request.setAttribute(HANDLER_ENDED, Boolean.TRUE);
+        }
+
+        // 静的リソースなどコントローラー以外のハンドラーは記録しない (preHandle と同じ)
+        if (!(handler instanceof HandlerMethod)) {
+            return;
+        }
+        var renderEvent = new ViewRenderEvent();
+        if (renderEvent.isEnabled()) {
+            renderEvent.begin();
+            request.setAttribute(RENDER_EVENT, renderEvent);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        commitHandlerEvent(request, response, handler, null, true);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        commitHandlerEvent(request, response, handler, ex, false);
+
+        if (!(request.getAttribute(RENDER_EVENT) instanceof ViewRenderEvent event)) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.handler = handlerName(handler);
+            event.uri = request.getRequestURI();
+            event.commit();
+        }
+        request.removeAttribute(RENDER_EVENT);
+    }
+
+    private static void commitHandlerEvent(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex, boolean async) {
+        if (!(request.getAttribute(HANDLER_EVENT) instanceof ControllerHandlerEvent event)) {
+            return;
+        }
+        if (request.getAttribute(HANDLER_ENDED) == null) {
+            event.end();
+        }
+        if (event.shouldCommit()) {
+            event.handler = handlerName(handler);
+            event.httpMethod = request.getMethod();
+            event.uri = request.getRequestURI();
+            event.criteria = String.join(",", new TreeSet<>(request.getParameterMap().keySet()));
+            event.status = response.getStatus();
+            event.exception = ex == null ? null : ex.getClass().getName();
+            event.async = async;
+            event.commit();
+        }
+        request.removeAttribute(HANDLER_EVENT);
+        request.removeAttribute(HANDLER_ENDED);
+    }
+
+    private static String handlerName(Object handler) {
+        var handlerMethod = (HandlerMethod) handler;
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.todo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.todo.ControllerHandler")
+@Label("Controller Handler")
+@Category({"Todo", "Web"})
+@Description("コントローラーのハンドラーメソッドの実行 (ビューの描画を含まない)")
+@StackTrace(false)
+final class ControllerHandlerEvent extends Event {
+
+    @Label("Handler")
+    String handler;
+
+    @Label("HTTP Method")
+    String httpMethod;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Criteria")
+    @Description("指定されたリクエストパラメータ名 (値は含まない)")
+    String criteria;
+
+    @Label("Status")
+    int status;
+
+    @Label("Exception")
+    @Description("ハンドラーが投げ、例外ハンドラーで解決されなかった例外のクラス名")
+    String exception;
+
+    @Label("Async")
+    @Description("レスポンスを非同期に書き続ける場合 (SSE・ストリーミングなど) は true。status はハンドラーを抜けた時点の値")
+    boolean async;
+}
@@ -0,0 +1,22 @@
+package com.example.todo.jfr;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * JFR のカスタムイベント (com.example.todo.*)。
+ * コントローラー → サービス → マッパーの各段階をイベントにするので、
+ * 継続的な記録でリクエストの遅延を描画・サービス・SQL に振り分けられる。
+ * イベントは JFR の記録が有効なときだけ作られ、無効なときは isEnabled の判定だけで済む。
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "todo.jfr.enabled", matchIfMissing = true)
+public class JfrWebConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ControllerEventInterceptor());
+    }
+}
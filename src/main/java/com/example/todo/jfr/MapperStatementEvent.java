@@ -0,0 +1,29 @@
+package com.example.todo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.todo.MapperStatement")
+@Label("Mapper Statement")
+@Category({"Todo", "SQL"})
+@Description("MyBatis のマップドステートメントの実行")
+@StackTrace(false)
+final class MapperStatementEvent extends Event {
+
+    @Label("Statement")
+    String statement;
+
+    @Label("Command")
+    String command;
+
+    @Label("Rows")
+    @Description("取得した行数・更新した行数。分からない場合は -1")
+    long rows;
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,82 @@
+package com.example.todo.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.todo.service.task.TaskPage;
+import com.example.todo.service.task.TaskSearchEntity;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * TaskService の public メソッドの実行を JFR イベントとして記録する。
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "todo.jfr.enabled", matchIfMissing = true)
+public class ServiceEventAspect {
+
+    @Around("execution(public * com.example.todo.service.task.TaskService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        var event = new ServiceMethodEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        Throwable error = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = joinPoint.getSignature().getName();
+                event.criteria = criteria(joinPoint.getArgs());
+                event.rows = rows(result);
+                event.error = error == null ? null : error.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+
+    // 検索条件の形。値は含めない (例: summary+status[2])
+    static String criteria(Object[] args) {
+        for (var arg : args) {
+            if (arg instanceof TaskSearchEntity condition) {
+                var shape = new StringBuilder();
+                if (condition.summary() != null && !condition.summary().isBlank()) {
+                    shape.append("summary");
+                }
+                if (condition.status() != null && !condition.status().isEmpty()) {
+                    shape.append(shape.isEmpty() ? "" : "+").append("status[").append(condition.status().size()).append(']');
+                }
+                return shape.isEmpty() ? "all" : shape.toString();
+            }
+        }
+        return null;
+    }
+
+    static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof TaskPage<?> page) {
+            return page.tasks().size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer count) {
+            return count;
+        }
+        return -1;
+    }
+}
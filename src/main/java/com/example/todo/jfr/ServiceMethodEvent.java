@@ -0,0 +1,30 @@
+package com.example.todo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.todo.ServiceMethod")
+@Label("Service Method")
+@Category({"Todo", "Service"})
+@Description("TaskService のメソッドの実行")
+@StackTrace(false)
+final class ServiceMethodEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Criteria")
+    @Description("検索条件の形 (例: summary+status[2])。検索以外は空")
+    String criteria;
+
+    @Label("Rows")
+    @Description("返した行数・更新した行数。該当しない場合は -1")
+    long rows;
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,22 @@
+package com.example.todo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.todo.ViewRender")
+@Label("View Render")
+@Category({"Todo", "Web"})
+@Description("ハンドラーメソッドの終了からレスポンスの完了まで (ビューの描画・レスポンスの書き込み)")
+@StackTrace(false)
+final class ViewRenderEvent extends Event {
+
+    @Label("Handler")
+    String handler;
+
+    @Label("URI")
+    String uri;
+}
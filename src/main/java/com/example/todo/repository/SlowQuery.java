@@ -0,0 +1,40 @@
+package com.example.todo.repository;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * スロークエリログの 1 件。実行計画は非同期に取得するため、取得するまで plan は null。
+ */
+@Getter
+public class SlowQuery {
+
+    private final Instant executedAt;
+
+    private final String statement;
+
+    private final long elapsedMillis;
+
+    private final String sql;
+
+    private final List<String> parameters;
+
+    private final String error;
+
+    private volatile String plan;
+
+    SlowQuery(Instant executedAt, String statement, long elapsedMillis, String sql, List<String> parameters, String error) {
+        this.executedAt = executedAt;
+        this.statement = statement;
+        this.elapsedMillis = elapsedMillis;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.error = error;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todo.repository;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * しきい値を超えたステートメントを SlowQueryLog に記録する MyBatis プラグイン。
+ * しきい値以下の実行では計時以外に何もしない。
+ */
+@Component
+@ConditionalOnProperty(name = "todo.mybatis.slow-query.enabled", matchIfMissing = true)
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class SlowQueryInterceptor implements Interceptor {
+
+    private final SlowQueryLog slowQueryLog;
+
+    private final long thresholdNanos;
+
+    public SlowQueryInterceptor(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdNanos = slowQueryLog.threshold().toNanos();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= thresholdNanos) {
+                var args = invocation.getArgs();
+                var mappedStatement = (MappedStatement) args[0];
+                var boundSql = args.length == 6 ? (BoundSql) args[5] : mappedStatement.getBoundSql(args[1]);
+                slowQueryLog.record(mappedStatement, boundSql, elapsed, error);
+            }
+        }
+    }
+}
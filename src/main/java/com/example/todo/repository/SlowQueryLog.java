@@ -0,0 +1,171 @@
+package com.example.todo.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.type.TypeHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * スロークエリのリングバッファ。
+ * 実行計画は呼び出し元を待たせないよう専用スレッドで別の接続から取得する。
+ * 純粋な SELECT は EXPLAIN ANALYZE (実際に実行して行数を数える)、それ以外は実行しない EXPLAIN を使う。
+ * FINAL TABLE などで INSERT を含む SELECT も EXPLAIN ANALYZE すると書き込まれるため EXPLAIN にする。
+ */
+@Slf4j
+@Component
+public class SlowQueryLog implements DisposableBean {
+
+    private static final String REDACTED = "****";
+
+    private static final Pattern DATA_CHANGE = Pattern.compile("\\b(FINAL|NEW|OLD)\\s+TABLE\\b", Pattern.CASE_INSENSITIVE);
+
+    private final DataSource dataSource;
+
+    private final SlowQueryProperties properties;
+
+    private final Deque<SlowQuery> entries = new ArrayDeque<>();
+
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryLog(DataSource dataSource, SlowQueryProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        // 実行計画の取得が追いつかない場合は捨てる
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.capacity()),
+                runnable -> {
+                    var thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public Duration threshold() {
+        return properties.threshold();
+    }
+
+    public void record(MappedStatement mappedStatement, BoundSql boundSql, long elapsedNanos, Throwable error) {
+        var values = parameterValues(mappedStatement, boundSql);
+        var entry = new SlowQuery(
+                Instant.now(),
+                mappedStatement.getId(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                boundSql.getSql(),
+                redact(boundSql.getParameterMappings(), values),
+                error == null ? null : error.toString());
+        synchronized (entries) {
+            if (entries.size() >= properties.capacity()) {
+                entries.removeFirst();
+            }
+            entries.addLast(entry);
+        }
+        log.warn("slow query {} took {} ms", entry.getStatement(), entry.getElapsedMillis());
+        if (properties.explain()) {
+            explainExecutor.execute(() -> explain(entry, mappedStatement, boundSql, values));
+        }
+    }
+
+    // 新しい順
+    public List<SlowQuery> entries() {
+        synchronized (entries) {
+            var result = new ArrayList<>(entries);
+            Collections.reverse(result);
+            return result;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void explain(SlowQuery entry, MappedStatement mappedStatement, BoundSql boundSql, List<Object> values) {
+        boolean analyze = mappedStatement.getSqlCommandType() == SqlCommandType.SELECT
+                && !DATA_CHANGE.matcher(boundSql.getSql()).find();
+        var mappings = boundSql.getParameterMappings();
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement((analyze ? "EXPLAIN ANALYZE " : "EXPLAIN ") + boundSql.getSql())) {
+            int index = 1;
+            for (int i = 0; i < mappings.size(); i++) {
+                var mapping = mappings.get(i);
+                if (mapping.getMode() == ParameterMode.OUT) {
+                    continue;
+                }
+                @SuppressWarnings("unchecked")
+                var typeHandler = (TypeHandler<Object>) mapping.getTypeHandler();
+                var jdbcType = mapping.getJdbcType() != null ? mapping.getJdbcType()
+                        : mappedStatement.getConfiguration().getJdbcTypeForNull();
+                typeHandler.setParameter(statement, index++, values.get(i), jdbcType);
+            }
+            try (var resultSet = statement.executeQuery()) {
+                var plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+                entry.setPlan(plan.toString().strip());
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("failed to explain {}", entry.getStatement(), e);
+            entry.setPlan("EXPLAIN に失敗しました: " + e.getMessage());
+        }
+    }
+
+    // DefaultParameterHandler と同じ規則でパラメータの値を取り出す
+    private static List<Object> parameterValues(MappedStatement mappedStatement, BoundSql boundSql) {
+        var configuration = mappedStatement.getConfiguration();
+        var parameterObject = boundSql.getParameterObject();
+        var values = new ArrayList<>();
+        for (var mapping : boundSql.getParameterMappings()) {
+            var property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                value = configuration.newMetaObject(parameterObject).getValue(property);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    private List<String> redact(List<ParameterMapping> mappings, List<Object> values) {
+        var result = new ArrayList<String>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            var property = mappings.get(i).getProperty();
+            var name = property.substring(property.lastIndexOf('.') + 1);
+            result.add(properties.redactedParameters().contains(name) ? REDACTED : String.valueOf(values.get(i)));
+        }
+        return result;
+    }
+}
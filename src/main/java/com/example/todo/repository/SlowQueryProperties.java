@@ -0,0 +1,21 @@
+package com.example.todo.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * スロークエリログ。threshold 以上かかったステートメントを直近 capacity 件まで保持する。
+ * redactedParameters に含まれるプロパティ名 (例: description) のパラメータ値は記録しない。
+ */
+@ConfigurationProperties("todo.mybatis.slow-query")
+public record SlowQueryProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200ms") Duration threshold,
+        @DefaultValue("100") int capacity,
+        @DefaultValue("true") boolean explain,
+        @DefaultValue Set<String> redactedParameters
+) {
+}
@@ -0,0 +1,117 @@
+package com.example.todo.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * マップドステートメントごとの実行時間・行数・エラー数を Micrometer に記録する MyBatis プラグイン。
+ * statement タグはマッパー名とメソッド名 (例: TaskRepository.select)。
+ * メーターはステートメントごとに 1 度だけ登録して保持するので、実行ごとのコストは計時と記録のみ。
+ * カーソル (queryCursor) は読み出しが呼び出し側で続くため対象外。
+ * ResultHandler を渡した検索は結果が空のリストで返るので、行数は記録しない (実行時間とエラー数は記録する)。
+ */
+@Component
+@ConditionalOnProperty(name = "todo.mybatis.metrics.enabled", matchIfMissing = true)
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public StatementMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        var mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        var statementMeters = meters.computeIfAbsent(mappedStatement.getId(), this::register);
+        long start = System.nanoTime();
+        try {
+            var result = invocation.proceed();
+            statementMeters.duration().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long rows = handlesResults(invocation) ? -1 : rows(result);
+            if (rows >= 0) {
+                statementMeters.rows().record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            statementMeters.duration().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            statementMeters.errors().increment();
+            throw e;
+        }
+    }
+
+    // ResultHandler に 1 行ずつ渡す検索かどうか
+    private static boolean handlesResults(Invocation invocation) {
+        var args = invocation.getArgs();
+        return args.length > 3 && args[3] != Executor.NO_RESULT_HANDLER;
+    }
+
+    // 取得した行数・更新した行数。BATCH エグゼキュータの update など件数が分からない場合は -1
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Integer count && count >= 0) {
+            return count;
+        }
+        return -1;
+    }
+
+    private Meters register(String statementId) {
+        var statement = statementTag(statementId);
+        return new Meters(
+                Timer.builder("mybatis.statement")
+                        .description("マップドステートメントの実行時間")
+                        .tag("statement", statement)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry),
+                DistributionSummary.builder("mybatis.statement.rows")
+                        .description("マップドステートメントが取得・更新した行数")
+                        .tag("statement", statement)
+                        .register(meterRegistry),
+                Counter.builder("mybatis.statement.errors")
+                        .description("マップドステートメントの実行エラー数")
+                        .tag("statement", statement)
+                        .register(meterRegistry));
+    }
+
+    // com.example.todo.repository.task.TaskRepository.select -> TaskRepository.select
+    static String statementTag(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int mapper = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(mapper + 1);
+    }
+
+    private record Meters(Timer duration, DistributionSummary rows, Counter errors) {
+    }
+}
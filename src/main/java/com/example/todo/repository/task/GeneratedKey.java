@@ -0,0 +1,12 @@
+package com.example.todo.repository.task;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// useGeneratedKeys で採番された id を受け取るための入れ物 (TaskEntity は record なので値を設定できない)
+@Getter
+@Setter
+public class GeneratedKey {
+
+    private Long id;
+}
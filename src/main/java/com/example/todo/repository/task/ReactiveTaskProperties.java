@@ -0,0 +1,13 @@
+package com.example.todo.repository.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("todo.task.reactive")
+public record ReactiveTaskProperties(
+        @DefaultValue("r2dbc:h2:mem:///todo") String url,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("10") int maxPoolSize
+) {
+}
@@ -0,0 +1,87 @@
+package com.example.todo.repository.task;
+
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskStatus;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+
+/**
+ * TaskRepository の読み取り系と同じ問い合わせを R2DBC でノンブロッキングに実行する。
+ * 行は購読者の要求に応じてドライバから読み出される。
+ * 接続プールは MyBatis 側 (JDBC) とは別に持ち、Spring Boot の R2DBC 自動構成は使わない
+ * (ConnectionFactory を Bean にすると schema.sql / data.sql の初期化が R2DBC 側に切り替わるため)。
+ */
+@Repository
+public class ReactiveTaskRepository implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTaskRepository(ReactiveTaskProperties properties) {
+        var options = ConnectionFactoryOptions.parse(properties.url()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.username())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.password())
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(properties.maxPoolSize())
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Flux<TaskEntity> select(TaskSearchEntity condition) {
+        var where = new ArrayList<String>();
+        if (condition.summary() != null && !condition.summary().isEmpty()) {
+            where.add("summary LIKE CONCAT('%', REPLACE(REPLACE(REPLACE(:summary, '\\', '\\\\'), '%', '\\%'), '_', '\\_'), '%') ESCAPE '\\'");
+        }
+        if (condition.status() != null && !condition.status().isEmpty()) {
+            where.add("status IN (:status)");
+        }
+        var sql = "SELECT id, summary, description, status, version FROM tasks"
+                + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where))
+                + " ORDER BY id";
+
+        var spec = databaseClient.sql(sql);
+        if (condition.summary() != null && !condition.summary().isEmpty()) {
+            spec = spec.bind("summary", condition.summary());
+        }
+        if (condition.status() != null && !condition.status().isEmpty()) {
+            spec = spec.bind("status", condition.status().stream().map(TaskStatus::code).toList());
+        }
+        return spec.map(ReactiveTaskRepository::toEntity).all();
+    }
+
+    public Mono<TaskEntity> selectById(long taskId) {
+        return databaseClient.sql("SELECT id, summary, description, status, version FROM tasks WHERE id = :taskId")
+                .bind("taskId", taskId)
+                .map(ReactiveTaskRepository::toEntity)
+                .one();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static TaskEntity toEntity(Readable row) {
+        return new TaskEntity(
+                row.get("id", Long.class),
+                row.get("summary", String.class),
+                row.get("description", String.class),
+                TaskStatus.fromCode(row.get("status", Short.class)),
+                row.get("version", Long.class));
+    }
+}
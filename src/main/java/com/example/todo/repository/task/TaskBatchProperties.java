@@ -0,0 +1,10 @@
+package com.example.todo.repository.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("todo.task.batch")
+public record TaskBatchProperties(
+        @DefaultValue("500") int flushSize
+) {
+}
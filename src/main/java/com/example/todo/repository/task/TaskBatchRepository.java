@@ -0,0 +1,110 @@
+package com.example.todo.repository.task;
+
+import com.example.todo.service.task.TaskEntity;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * TaskRepository の書き込み系ステートメントを MyBatis の BATCH エグゼキュータでまとめて実行する。
+ * flushSize 件ごとに JDBC バッチを送信する。
+ * 同じトランザクションの中で通常の TaskRepository (SIMPLE エグゼキュータ) と混在させることはできないので、
+ * 書き込んだ行を同じトランザクションで読み直す場合は selectByIds を使う。
+ */
+@Repository
+public class TaskBatchRepository {
+
+    private final SqlSessionTemplate batchSession;
+
+    private final TaskRepository batchMapper;
+
+    private final int flushSize;
+
+    public TaskBatchRepository(SqlSessionFactory sqlSessionFactory, TaskBatchProperties properties) {
+        this.batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.batchMapper = batchSession.getMapper(TaskRepository.class);
+        this.flushSize = properties.flushSize();
+    }
+
+    // 採番された id を引数と同じ順で返す
+    public List<Long> insertAll(List<TaskEntity> newEntities) {
+        var keys = new ArrayList<GeneratedKey>(newEntities.size());
+        for (var newEntity : newEntities) {
+            var key = new GeneratedKey();
+            keys.add(key);
+            batchMapper.insertWithKey(newEntity, key);
+            if (keys.size() % flushSize == 0) {
+                batchSession.flushStatements();
+            }
+        }
+        batchSession.flushStatements();
+        return keys.stream().map(GeneratedKey::getId).toList();
+    }
+
+    // 更新件数を引数と同じ順で返す (存在しない id は 0)
+    public List<Integer> updateAll(List<TaskEntity> entities) {
+        var counts = new ArrayList<Integer>(entities.size());
+        int queued = 0;
+        for (var entity : entities) {
+            batchMapper.update(entity);
+            if (++queued % flushSize == 0) {
+                collect(batchSession.flushStatements(), counts);
+            }
+        }
+        collect(batchSession.flushStatements(), counts);
+        return counts;
+    }
+
+    // BATCH エグゼキュータの SELECT は、送信前のステートメントを先に送信してから実行される
+    public List<TaskEntity> selectByIds(Collection<Long> ids) {
+        return batchMapper.selectByIds(ids);
+    }
+
+    // 削除の記録 (task_tombstones) も flushSize 件ごとにまとめて登録する。実際に削除した id を引数と同じ順で返す
+    public List<Long> deleteAll(Collection<Long> ids) {
+        var deleted = new ArrayList<Long>(ids.size());
+        var chunk = new ArrayList<Long>(Math.min(ids.size(), flushSize));
+        for (var id : ids) {
+            chunk.add(id);
+            if (chunk.size() == flushSize) {
+                deleteChunk(chunk, deleted);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deleteChunk(chunk, deleted);
+        }
+        return deleted;
+    }
+
+    private void deleteChunk(List<Long> ids, List<Long> deleted) {
+        batchMapper.insertTombstones(ids);
+        // 削除件数に含めないよう、記録の登録は先に送信して結果を捨てる
+        batchSession.flushStatements();
+        for (var id : ids) {
+            batchMapper.delete(id);
+        }
+        var counts = new ArrayList<Integer>(ids.size());
+        collect(batchSession.flushStatements(), counts);
+        for (int i = 0; i < ids.size(); i++) {
+            if (counts.get(i) > 0) {
+                deleted.add(ids.get(i));
+            }
+        }
+    }
+
+    private static void collect(List<BatchResult> results, List<Integer> counts) {
+        for (var result : results) {
+            for (int count : result.getUpdateCounts()) {
+                counts.add(count);
+            }
+        }
+    }
+}
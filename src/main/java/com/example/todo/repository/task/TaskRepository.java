@@ -1,27 +1,39 @@
 package com.example.todo.repository.task;
 
+import com.example.todo.service.task.TaskChange;
 import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskPageRequest;
 import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskSummaryEntity;
 
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * 概要の部分一致は、概要インデックス (TaskSummaryIndex) と同じく入力をそのままの文字列として探すので、
+ * LIKE のワイルドカード (%, _) とエスケープ文字 (\) はエスケープしてから検索する。
+ */
 @Mapper
 public interface TaskRepository {
 
   @Select("""
     <script>
-      SELECT id, summary, description, status
+      SELECT id, summary, description, status, version
       FROM tasks
       <where>
         <if test="condition.summary != null and condition.summary != ''">
-          AND summary LIKE CONCAT('%', #{condition.summary}, '%')
+          AND summary LIKE CONCAT('%', REPLACE(REPLACE(REPLACE(#{condition.summary}, '\\', '\\\\'), '%', '\\%'), '_', '\\_'), '%') ESCAPE '\\'
         </if>
         <if test="condition.status != null and condition.status.size() &gt; 0">
           AND status IN
@@ -34,17 +46,220 @@ public interface TaskRepository {
     """)
   List<TaskEntity> select(@Param("condition") TaskSearchEntity condition);
 
+  // 一覧の全件表示用。全件をメモリに載せずに 1 行ずつ読み出す (description は読まない)。トランザクション内で呼び出し、使い終わったら close すること
+  @Select("""
+    <script>
+      SELECT id, summary, status
+      FROM tasks
+      <where>
+        <if test="condition.summary != null and condition.summary != ''">
+          AND summary LIKE CONCAT('%', REPLACE(REPLACE(REPLACE(#{condition.summary}, '\\', '\\\\'), '%', '\\%'), '_', '\\_'), '%') ESCAPE '\\'
+        </if>
+        <if test="condition.status != null and condition.status.size() &gt; 0">
+          AND status IN
+          <foreach item="item" collection="condition.status" open="(" close=")" separator=",">
+            #{item}
+          </foreach>
+        </if>
+      </where>
+      ORDER BY id
+    </script>
+    """)
+  @Options(fetchSize = 1000)
+  Cursor<TaskSummaryEntity> selectSummaryCursor(@Param("condition") TaskSearchEntity condition);
+
+  // id をキーにしたシークページング。before 指定時は id 降順で取得するので呼び出し側で反転する
+  @Select("""
+    <script>
+      SELECT id, summary, description, status, version
+      FROM tasks
+      <where>
+        <if test="condition.summary != null and condition.summary != ''">
+          AND summary LIKE CONCAT('%', REPLACE(REPLACE(REPLACE(#{condition.summary}, '\\', '\\\\'), '%', '\\%'), '_', '\\_'), '%') ESCAPE '\\'
+        </if>
+        <if test="condition.status != null and condition.status.size() &gt; 0">
+          AND status IN
+          <foreach item="item" collection="condition.status" open="(" close=")" separator=",">
+            #{item}
+          </foreach>
+        </if>
+        <if test="page.after != null">
+          AND id &gt; #{page.after}
+        </if>
+        <if test="page.before != null">
+          AND id &lt; #{page.before}
+        </if>
+      </where>
+      <choose>
+        <when test="page.before != null">
+          ORDER BY id DESC
+        </when>
+        <otherwise>
+          ORDER BY id
+        </otherwise>
+      </choose>
+      LIMIT #{limit}
+    </script>
+    """)
+  List<TaskEntity> selectPage(@Param("condition") TaskSearchEntity condition,
+      @Param("page") TaskPageRequest page, @Param("limit") int limit);
 
-  @Select("SELECT id, summary, description, status FROM tasks WHERE id = #{taskId};")
+  // 一覧画面用の selectPage。description は読まない
+  @Select("""
+    <script>
+      SELECT id, summary, status
+      FROM tasks
+      <where>
+        <if test="condition.summary != null and condition.summary != ''">
+          AND summary LIKE CONCAT('%', REPLACE(REPLACE(REPLACE(#{condition.summary}, '\\', '\\\\'), '%', '\\%'), '_', '\\_'), '%') ESCAPE '\\'
+        </if>
+        <if test="condition.status != null and condition.status.size() &gt; 0">
+          AND status IN
+          <foreach item="item" collection="condition.status" open="(" close=")" separator=",">
+            #{item}
+          </foreach>
+        </if>
+        <if test="page.after != null">
+          AND id &gt; #{page.after}
+        </if>
+        <if test="page.before != null">
+          AND id &lt; #{page.before}
+        </if>
+      </where>
+      <choose>
+        <when test="page.before != null">
+          ORDER BY id DESC
+        </when>
+        <otherwise>
+          ORDER BY id
+        </otherwise>
+      </choose>
+      LIMIT #{limit}
+    </script>
+    """)
+  List<TaskSummaryEntity> selectSummaryPage(@Param("condition") TaskSearchEntity condition,
+      @Param("page") TaskPageRequest page, @Param("limit") int limit);
+
+  @Select("""
+    <script>
+      SELECT COUNT(*)
+      FROM tasks
+      <where>
+        <if test="condition.summary != null and condition.summary != ''">
+          AND summary LIKE CONCAT('%', REPLACE(REPLACE(REPLACE(#{condition.summary}, '\\', '\\\\'), '%', '\\%'), '_', '\\_'), '%') ESCAPE '\\'
+        </if>
+        <if test="condition.status != null and condition.status.size() &gt; 0">
+          AND status IN
+          <foreach item="item" collection="condition.status" open="(" close=")" separator=",">
+            #{item}
+          </foreach>
+        </if>
+      </where>
+    </script>
+    """)
+  long count(@Param("condition") TaskSearchEntity condition);
+
+
+  @Select("SELECT id, summary, description, status, version FROM tasks WHERE id = #{taskId};")
   Optional<TaskEntity> selectById(@Param("taskId") long taskId);
 
+  @Select("""
+    <script>
+      SELECT id, summary, description, status, version
+      FROM tasks
+      WHERE id IN
+      <foreach item="id" collection="ids" open="(" close=")" separator=",">
+        #{id}
+      </foreach>
+      ORDER BY id
+    </script>
+    """)
+  List<TaskEntity> selectByIds(@Param("ids") Collection<Long> ids);
+
+  @Select("""
+    <script>
+      SELECT id, summary, status
+      FROM tasks
+      WHERE id IN
+      <foreach item="id" collection="ids" open="(" close=")" separator=",">
+        #{id}
+      </foreach>
+      ORDER BY id
+    </script>
+    """)
+  List<TaskSummaryEntity> selectSummariesByIds(@Param("ids") Collection<Long> ids);
+
+  // 概要インデックスの構築用。description は読まない
+  @Select("SELECT id, summary, status FROM tasks")
+  @Options(fetchSize = 1000)
+  @ResultType(TaskSummaryEntity.class)
+  void selectSummaries(ResultHandler<TaskSummaryEntity> handler);
+
+  // 採番された id を返すため、INSERT の結果行を FINAL TABLE で読み出す
+  @Select("SELECT id FROM FINAL TABLE (INSERT INTO tasks (summary, description, status) VALUES (#{task.summary}, #{task.description}, #{task.status}))")
+  @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+  long insert(@Param("task") TaskEntity newEntity);
+
+  // BATCH エグゼキュータ用。採番された id はフラッシュ後に key に設定される
   @Insert("INSERT INTO tasks (summary, description, status) VALUES (#{task.summary}, #{task.description}, #{task.status})")
-  void insert(@Param("task") TaskEntity newEntity);
+  @Options(useGeneratedKeys = true, keyProperty = "key.id", keyColumn = "id")
+  void insertWithKey(@Param("task") TaskEntity newEntity, @Param("key") GeneratedKey key);
 
-  @Update("UPDATE tasks SET summary = #{task.summary}, description = #{task.description}, status = #{task.status} WHERE id = #{task.id}")
-  void update(@Param("task") TaskEntity entity);
+  // 大量データの投入用。ヘッダ行 (summary,description,status) 付きの UTF-8 CSV を H2 の CSVREAD で一括登録する
+  // CSV の status はステータス名で、task_statuses でコードに変換する
+  @Insert("""
+    INSERT INTO tasks (summary, description, status)
+    SELECT c.summary, c.description, s.code
+    FROM CSVREAD(#{file}, NULL, 'charset=UTF-8') c
+    JOIN task_statuses s ON s.name = c.status
+    """)
+  int insertFromCsv(@Param("file") String file);
 
+  // 更新のたびに change_seq を採番し直し、変更フィードで後ろに並ぶようにする
+  // task.version を指定した場合は、読み込んだ時点から更新されていないときだけ更新する (楽観ロック)。更新件数を返す
+  @Update("""
+    <script>
+      UPDATE tasks
+      SET summary = #{task.summary}, description = #{task.description}, status = #{task.status},
+          version = version + 1, change_seq = NEXT VALUE FOR task_change_seq, updated_at = CURRENT_TIMESTAMP
+      WHERE id = #{task.id}
+      <if test="task.version != null">
+        AND version = #{task.version}
+      </if>
+    </script>
+    """)
+  int update(@Param("task") TaskEntity entity);
+
+  // 削除を変更フィードに残すため、delete の前に同じトランザクションで呼び出す (存在しない id は記録しない)
+  @Insert("""
+    <script>
+      MERGE INTO task_tombstones (id, change_seq, deleted_at) KEY (id)
+      SELECT id, NEXT VALUE FOR task_change_seq, CURRENT_TIMESTAMP
+      FROM tasks
+      WHERE id IN
+      <foreach item="id" collection="ids" open="(" close=")" separator=",">
+        #{id}
+      </foreach>
+    </script>
+    """)
+  int insertTombstones(@Param("ids") Collection<Long> ids);
+
+  // 削除件数を返す (存在しない id は 0)
   @Update("DELETE FROM tasks WHERE id = #{taskId}")
-  void delete(@Param("taskId") long id);
+  int delete(@Param("taskId") long id);
+
+  // since より後の作成・更新と削除を change_seq 順に limit 件返す
+  @Select("""
+    SELECT id, summary, description, status, version, change_seq, updated_at, FALSE AS deleted
+    FROM tasks
+    WHERE change_seq > #{since}
+    UNION ALL
+    SELECT id, NULL, NULL, NULL, NULL, change_seq, deleted_at, TRUE
+    FROM task_tombstones
+    WHERE change_seq > #{since}
+    ORDER BY change_seq
+    LIMIT #{limit}
+    """)
+  List<TaskChange> selectChanges(@Param("since") long since, @Param("limit") int limit);
 
 }
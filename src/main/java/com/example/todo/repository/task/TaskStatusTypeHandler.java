@@ -0,0 +1,45 @@
+package com.example.todo.repository.task;
+
+import com.example.todo.service.task.TaskStatus;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * TaskStatus と tasks.status (SMALLINT のコード) を相互に変換する。
+ * mybatis.type-handlers-package で登録され、TaskStatus の既定の EnumTypeHandler (名前の文字列) を置き換える。
+ */
+@MappedTypes(TaskStatus.class)
+@MappedJdbcTypes(value = JdbcType.SMALLINT, includeNullJdbcType = true)
+public class TaskStatusTypeHandler extends BaseTypeHandler<TaskStatus> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, TaskStatus parameter, JdbcType jdbcType) throws SQLException {
+        ps.setShort(i, parameter.code());
+    }
+
+    @Override
+    public TaskStatus getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        short code = rs.getShort(columnName);
+        return rs.wasNull() ? null : TaskStatus.fromCode(code);
+    }
+
+    @Override
+    public TaskStatus getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        short code = rs.getShort(columnIndex);
+        return rs.wasNull() ? null : TaskStatus.fromCode(code);
+    }
+
+    @Override
+    public TaskStatus getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        short code = cs.getShort(columnIndex);
+        return cs.wasNull() ? null : TaskStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todo.service.task;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+
+import com.example.todo.repository.task.ReactiveTaskRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC による読み取り専用の検索。
+ * キャッシュや n-gram インデックスは通さず、常に DB を読む。
+ * 書き込みはキャッシュとインデックスを更新するため TaskService で行う。
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository reactiveTaskRepository;
+
+    public Flux<TaskEntity> find(TaskSearchEntity searchEntity) {
+        return reactiveTaskRepository.select(searchEntity.normalize());
+    }
+
+    public Mono<TaskEntity> findById(long taskId) {
+        return reactiveTaskRepository.selectById(taskId);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todo.service.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties("todo.task.cache")
+public record TaskCacheProperties(
+        @DefaultValue ById byId,
+        @DefaultValue Search search
+) {
+
+    // TaskService.findById の結果キャッシュ
+    public record ById(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") long maximumSize,
+            @DefaultValue("10m") Duration ttl
+    ) {
+    }
+
+    // TaskService.find / findPage の検索結果キャッシュ。maximumSize は結果の推定バイト数の合計
+    public record Search(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("16MB") DataSize maximumSize,
+            @DefaultValue("10m") Duration ttl
+    ) {
+    }
+}
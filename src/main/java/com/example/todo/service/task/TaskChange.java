@@ -0,0 +1,22 @@
+package com.example.todo.service.task;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 変更フィードの 1 件。deleted の場合は id・changeSeq・updatedAt (削除日時) のみ設定される。
+ */
+public record TaskChange(
+        Long id,
+        String summary,
+        String description,
+        TaskStatus status,
+        Long version,
+        Long changeSeq,
+        OffsetDateTime updatedAt,
+        boolean deleted
+) {
+
+    public TaskEntity toEntity() {
+        return new TaskEntity(id, summary, description, status, version);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todo.service.task;
+
+/**
+ * タスクの作成・更新・削除を通知するイベント。
+ * 受け取る側はコミット後に処理するため @TransactionalEventListener で購読すること。
+ * 他の購読者の処理結果に依存する場合は @Order で順序を決めること (インデックス → 検索キャッシュ → その他)。
+ * task は通知時点の行の内容で、作成・更新では id とバージョンを持つ。削除の場合 task は null。
+ */
+public record TaskChangedEvent(
+        Type type,
+        long id,
+        TaskEntity task
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(long id, TaskEntity task) {
+        return new TaskChangedEvent(Type.CREATED, id, task.created(id));
+    }
+
+    public static TaskChangedEvent updated(TaskEntity task) {
+        return new TaskChangedEvent(Type.UPDATED, task.id(), task);
+    }
+
+    public static TaskChangedEvent deleted(long id) {
+        return new TaskChangedEvent(Type.DELETED, id, null);
+    }
+}
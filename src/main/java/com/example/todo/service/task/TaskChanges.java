@@ -0,0 +1,14 @@
+package com.example.todo.service.task;
+
+import java.util.List;
+
+/**
+ * since より後の変更。next を次回の since に渡すと続きから取得できる。
+ * hasMore が false の場合は、現時点で確定している変更をすべて返している。
+ */
+public record TaskChanges(
+        List<TaskChange> changes,
+        long next,
+        boolean hasMore
+) {
+}
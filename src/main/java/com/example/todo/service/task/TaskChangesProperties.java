@@ -0,0 +1,49 @@
+package com.example.todo.service.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 変更フィードの設定。
+ * change_seq は文の実行時に採番されるが、updated_at / deleted_at (H2 の CURRENT_TIMESTAMP) はトランザクションの開始時刻になるため、
+ * どちらもコミットの順序とは一致しない。updated_at から settleTime 以内の変更は、それより小さい番号の変更がまだコミットされていない
+ * 可能性があるので返さない。
+ * 書き込みのトランザクションはすべて maxWriteTime を超えたらロールバックする (checkWriteTime)。
+ * 変更 B が返るのは B のトランザクション開始から settleTime 後で、B より小さい番号を持つ変更 A は B のコミット
+ * (開始から maxWriteTime 以内) より前に採番されており、A のコミットはさらに maxWriteTime 以内に終わる。
+ * したがって settleTime は maxWriteTime の 2 倍に、コミット自体などにかかる COMMIT_MARGIN を足したものより長くなければならない。
+ */
+@ConfigurationProperties("todo.task.changes")
+public record TaskChangesProperties(
+        @DefaultValue("500") int defaultSize,
+        @DefaultValue("1000") int maxSize,
+        @DefaultValue("5s") Duration settleTime,
+        @DefaultValue("2s") Duration maxWriteTime
+) {
+
+    // トランザクションの開始から計測を始めるまでと、checkWriteTime からコミットが終わるまでの余裕
+    static final Duration COMMIT_MARGIN = Duration.ofMillis(500);
+
+    public TaskChangesProperties {
+        if (settleTime.compareTo(maxWriteTime.multipliedBy(2).plus(COMMIT_MARGIN)) <= 0) {
+            throw new IllegalArgumentException(
+                    "todo.task.changes.settle-time は max-write-time の 2 倍 + " + COMMIT_MARGIN.toMillis() + "ms より長くしてください");
+        }
+    }
+
+    public int resolve(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    // 書き込みのトランザクションでコミット前に呼ぶ。startedNanos (System.nanoTime) から maxWriteTime を過ぎていれば例外でロールバックさせる
+    public void checkWriteTime(long startedNanos) {
+        if (System.nanoTime() - startedNanos > maxWriteTime.toNanos()) {
+            throw new TaskWriteTimeoutException("書き込みが " + maxWriteTime + " を超えたためロールバックしました");
+        }
+    }
+}
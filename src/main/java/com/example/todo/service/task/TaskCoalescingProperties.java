@@ -0,0 +1,13 @@
+package com.example.todo.service.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("todo.task.search.coalescing")
+public record TaskCoalescingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5s") Duration timeout
+) {
+}
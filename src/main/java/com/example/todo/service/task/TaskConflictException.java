@@ -0,0 +1,25 @@
+package com.example.todo.service.task;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Optional;
+
+/**
+ * 楽観ロックの競合。読み込んだ後に他の更新 (または削除) がコミットされていた。
+ * current は競合を検出した時点のタスクで、削除されていた場合は空。
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TaskConflictException extends RuntimeException {
+
+    private final transient TaskEntity current;
+
+    public TaskConflictException(long id, TaskEntity current) {
+        super("タスク #" + id + " は他のユーザーによって" + (current == null ? "削除" : "更新") + "されています");
+        this.current = current;
+    }
+
+    public Optional<TaskEntity> current() {
+        return Optional.ofNullable(current);
+    }
+}
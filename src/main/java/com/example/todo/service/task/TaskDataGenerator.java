@@ -0,0 +1,79 @@
+package com.example.todo.service.task;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * それらしいタスクを生成する。同じ seed からは常に同じ並びのタスクが生成される。
+ * 概要は日本語 6 割・英語 4 割、ステータスは DONE 6 割・TODO 25%・DOING 15%、
+ * 説明は 2 割が null で、残りは 1〜20 文程度の長さにばらつかせる。
+ */
+public class TaskDataGenerator {
+
+    private static final List<String> JA_OBJECTS = List.of(
+            "会議資料", "週次レポート", "見積書", "請求書", "議事録", "設計書", "テスト仕様書", "リリースノート",
+            "顧客アンケート", "採用面接", "経費精算", "契約書", "ログイン画面", "検索機能", "バッチ処理", "本番環境");
+
+    private static final List<String> JA_VERBS = List.of(
+            "を作成する", "をレビューする", "を修正する", "を確認する", "を送付する", "を更新する", "を調査する", "の準備をする");
+
+    private static final List<String> EN_VERBS = List.of(
+            "Write", "Review", "Fix", "Update", "Deploy", "Investigate", "Refactor", "Document", "Prepare", "Test");
+
+    private static final List<String> EN_OBJECTS = List.of(
+            "the weekly report", "login page", "search API", "release notes", "billing batch", "onboarding guide",
+            "CI pipeline", "database migration", "customer survey", "error handling", "cache settings", "user settings");
+
+    private static final List<String> JA_SENTENCES = List.of(
+            "先方からの指摘事項を反映すること。", "期限は今週中。", "不明点は担当者に確認する。",
+            "前回のバージョンとの差分をまとめる。", "関係者にメールで共有する。", "必要に応じて上長の承認を得る。");
+
+    private static final List<String> EN_SENTENCES = List.of(
+            "Follow up with the owner before Friday.", "See the linked ticket for details.",
+            "Make sure the change is backward compatible.", "Add screenshots to the pull request.",
+            "Coordinate with the operations team.", "Keep the old behaviour behind a flag.");
+
+    private final Random random;
+
+    public TaskDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public TaskEntity next() {
+        boolean japanese = random.nextInt(10) < 6;
+        return new TaskEntity(null, summary(japanese), description(japanese), status());
+    }
+
+    private String summary(boolean japanese) {
+        var summary = japanese
+                ? pick(JA_OBJECTS) + pick(JA_VERBS)
+                : pick(EN_VERBS) + " " + pick(EN_OBJECTS);
+        // 同じ概要ばかりにならないよう、一部に番号を付ける
+        return random.nextInt(3) == 0 ? summary + " #" + random.nextInt(10_000) : summary;
+    }
+
+    private String description(boolean japanese) {
+        if (random.nextInt(5) == 0) {
+            return null;
+        }
+        // 短い説明が多く、長い説明は少ない
+        int sentences = 1 + (int) Math.min(19, -Math.log(1 - random.nextDouble()) * 3);
+        var description = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            description.append(pick(japanese ? JA_SENTENCES : EN_SENTENCES));
+            if (!japanese && i < sentences - 1) {
+                description.append(' ');
+            }
+        }
+        return description.toString();
+    }
+
+    private TaskStatus status() {
+        int r = random.nextInt(100);
+        return r < 60 ? TaskStatus.DONE : r < 85 ? TaskStatus.TODO : TaskStatus.DOING;
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -1,10 +1,25 @@
 package com.example.todo.service.task;
 
+/**
+ * version は楽観ロック用の更新回数。null の場合は更新時に競合を確認しない。
+ */
 public record TaskEntity(
         Long id,
         String summary,
         String description,
-        TaskStatus status
-){
+        TaskStatus status,
+        Long version
+) implements TaskRow {
 
+    // 作成直後の行のバージョン (tasks.version の DEFAULT)
+    public static final long INITIAL_VERSION = 0;
+
+    public TaskEntity(Long id, String summary, String description, TaskStatus status) {
+        this(id, summary, description, status, null);
+    }
+
+    // 採番された id で作成された直後の行
+    public TaskEntity created(long id) {
+        return new TaskEntity(id, summary, description, status, INITIAL_VERSION);
+    }
 }
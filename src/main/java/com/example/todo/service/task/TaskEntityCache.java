@@ -0,0 +1,59 @@
+package com.example.todo.service.task;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * TaskService.findById の読み込みキャッシュ。
+ * 更新・削除のコミット後に該当 id だけを破棄する。
+ * 統計は Micrometer の cache.* メトリクス(name=tasks.byId)で参照できる。
+ */
+@Component
+public class TaskEntityCache {
+
+    private final boolean enabled;
+
+    private final Cache<Long, TaskEntity> cache;
+
+    public TaskEntityCache(TaskCacheProperties properties, MeterRegistry meterRegistry) {
+        var byId = properties.byId();
+        this.enabled = byId.enabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(byId.maximumSize())
+                .expireAfterWrite(byId.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks.byId");
+    }
+
+    public Optional<TaskEntity> get(long id, Supplier<Optional<TaskEntity>> loader) {
+        // 書き込みトランザクション内ではコミット前の値をキャッシュしないよう素通しする
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        // 読み込み中に invalidate された場合、Caffeine は読み込みの完了を待ってから破棄する
+        return Optional.ofNullable(cache.get(id, key -> loader.get().orElse(null)));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() != TaskChangedEvent.Type.CREATED) {
+            cache.invalidate(event.id());
+        }
+    }
+}
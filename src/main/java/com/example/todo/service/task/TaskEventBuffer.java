@@ -0,0 +1,93 @@
+package com.example.todo.service.task;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * コミットされた変更イベントを通し番号付きで保持する固定長のリングバッファ。
+ * 書き込みは番号の採番 (getAndIncrement) とスロットへの格納だけで、ロックも読み手の待ちもない。
+ * 読み手は自分の位置を持ち、書き込みに追い越されたら overrun として検出する。
+ * 書き込みのたびに登録されたリスナーを呼ぶので、リスナーはブロックせずに処理を別スレッドへ渡すこと。
+ */
+@Component
+public class TaskEventBuffer {
+
+    private final AtomicReferenceArray<TaskEventRecord> slots;
+
+    private final int mask;
+
+    // 次に採番する番号
+    private final AtomicLong next = new AtomicLong(1);
+
+    private final Set<Runnable> listeners = ConcurrentHashMap.newKeySet();
+
+    public TaskEventBuffer(TaskEventProperties properties) {
+        int capacity = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(1, properties.capacity() - 1)));
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        long sequence = next.getAndIncrement();
+        slots.set(index(sequence), new TaskEventRecord(sequence, event));
+        for (var listener : listeners) {
+            listener.run();
+        }
+    }
+
+    // 次に採番される番号。ここから読めば以降のイベントだけを受け取れる
+    public long head() {
+        return next.get();
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * from 以降のイベントを番号順に最大 max 件返す。
+     * 格納中のスロットに行き当たったらそこで止める (格納した書き手がリスナーを呼ぶので、その後に続きを読めばよい)。
+     */
+    public TaskEventSlice read(long from, int max) {
+        long head = next.get();
+        // 再起動前の番号など、まだ採番していない番号は取りこぼしとして扱う
+        if (from < 1 || from > head || head - from > slots.length()) {
+            return TaskEventSlice.lost();
+        }
+        var events = new ArrayList<TaskEventRecord>(Math.min(max, (int) (head - from)));
+        for (long sequence = from; sequence < head && events.size() < max; sequence++) {
+            var record = slots.get(index(sequence));
+            if (record == null || record.sequence() < sequence) {
+                break;
+            }
+            if (record.sequence() > sequence) {
+                return TaskEventSlice.lost();
+            }
+            events.add(record);
+        }
+        return new TaskEventSlice(events, false);
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    public int listenerCount() {
+        return listeners.size();
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.todo.service.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * タスクの変更イベントの配信 (/api/tasks/events) の設定。
+ * capacity は直近のイベントを保持するリングバッファの大きさ (2 のべき乗に切り上げる)。
+ * dispatchThreads は送信用に常駐させるスレッド数で、送信中の購読者が多ければその分だけスレッドを増やす。
+ * 1 回の送信が sendTimeout を超えた購読者は切断し、Last-Event-ID での再接続に任せる。
+ */
+@ConfigurationProperties("todo.task.events")
+public record TaskEventProperties(
+        @DefaultValue("4096") int capacity,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("4") int dispatchThreads,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("10s") Duration sendTimeout
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.todo.service.task;
+
+/**
+ * リングバッファに格納した変更イベント。sequence は 1 から始まる通し番号。
+ */
+public record TaskEventRecord(
+        long sequence,
+        TaskChangedEvent event
+) {
+}
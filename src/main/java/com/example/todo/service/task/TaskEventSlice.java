@@ -0,0 +1,17 @@
+package com.example.todo.service.task;
+
+import java.util.List;
+
+/**
+ * TaskEventBuffer.read の結果。
+ * overrun の場合、要求した番号のイベントはすでに上書きされているので、読み手は取りこぼしを前提に同期し直すこと。
+ */
+public record TaskEventSlice(
+        List<TaskEventRecord> events,
+        boolean overrun
+) {
+
+    static TaskEventSlice lost() {
+        return new TaskEventSlice(List.of(), true);
+    }
+}
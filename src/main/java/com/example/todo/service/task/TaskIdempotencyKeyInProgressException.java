@@ -0,0 +1,13 @@
+package com.example.todo.service.task;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 同じ Idempotency-Key の先行リクエストが waitTimeout を過ぎても完了しない
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TaskIdempotencyKeyInProgressException extends RuntimeException {
+
+    public TaskIdempotencyKeyInProgressException() {
+        super("同じ Idempotency-Key のリクエストを処理中です");
+    }
+}
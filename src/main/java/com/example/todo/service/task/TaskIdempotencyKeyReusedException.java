@@ -0,0 +1,13 @@
+package com.example.todo.service.task;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 同じ Idempotency-Key が内容の異なるリクエストに使われた
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class TaskIdempotencyKeyReusedException extends RuntimeException {
+
+    public TaskIdempotencyKeyReusedException() {
+        super("Idempotency-Key が別の内容のリクエストで使用されています");
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.todo.service.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key の記録の設定。
+ * 直近 maximumSize 件のキーの結果を ttl の間保持する。
+ * 同じキーのリクエストが処理中の場合、後続は waitTimeout まで完了を待つ。
+ */
+@ConfigurationProperties("todo.task.idempotency")
+public record TaskIdempotencyProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("30s") Duration waitTimeout
+) {
+}
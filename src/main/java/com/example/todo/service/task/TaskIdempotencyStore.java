@@ -0,0 +1,117 @@
+package com.example.todo.service.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key ごとに処理の結果を記録し、同じキーの再送には処理を実行せずに同じ結果を返す。
+ * 同じキーのリクエストが同時に届いた場合、後続は先着の処理の完了を待ってその結果を共有する。
+ * 処理が例外で終わった場合は記録を残さないので、同じキーで再試行すれば実行し直される。
+ * 記録はこのインスタンスのメモリ上にあり、件数と ttl で捨てられる。
+ */
+@Component
+public class TaskIdempotencyStore {
+
+    private final Cache<Key, Entry> entries;
+
+    private final long waitTimeoutMillis;
+
+    private final ObjectMapper objectMapper;
+
+    public TaskIdempotencyStore(TaskIdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+        this.waitTimeoutMillis = properties.waitTimeout().toMillis();
+    }
+
+    /**
+     * scope と key の組で action を 1 回だけ実行する。key が null または空の場合は毎回実行する。
+     * 同じキーで request の内容が異なる場合は TaskIdempotencyKeyReusedException を投げる。
+     * 結果は呼び出し元で共有されるため、変更できないオブジェクトを返すこと。
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, Object request, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        var cacheKey = new Key(scope, key);
+        // リクエスト全体を保持しないよう、内容の照合は JSON に正規化したリクエストの SHA-256 で行う
+        var own = new Entry(fingerprint(request), new CompletableFuture<>());
+        var existing = entries.asMap().putIfAbsent(cacheKey, own);
+        if (existing == null) {
+            try {
+                T result = action.get();
+                own.result().complete(result);
+                return result;
+            } catch (Throwable e) {
+                // Error でも future を完了させ、待っている後続がタイムアウトまで待たされないようにする
+                entries.asMap().remove(cacheKey, own);
+                own.result().completeExceptionally(e);
+                throw e;
+            }
+        }
+        if (!MessageDigest.isEqual(existing.fingerprint(), own.fingerprint())) {
+            throw new TaskIdempotencyKeyReusedException();
+        }
+        return (T) await(existing.result());
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new TaskIdempotencyKeyInProgressException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskIdempotencyKeyInProgressException();
+        } catch (ExecutionException e) {
+            // 先着の処理の失敗をそのまま返す (記録は消えているので、次の再試行は実行される)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 一括リクエストでも本文を複製しないよう、シリアライズしながらダイジェストに流し込む
+    private byte[] fingerprint(Object request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            try (var out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+                objectMapper.writeValue(out, request);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Key(String scope, String key) {
+    }
+
+    private record Entry(byte[] fingerprint, CompletableFuture<Object> result) {
+    }
+}
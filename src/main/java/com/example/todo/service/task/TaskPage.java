@@ -0,0 +1,23 @@
+package com.example.todo.service.task;
+
+import java.util.List;
+
+/**
+ * シークページングの結果。tasks は常に id 昇順。
+ * totalCount は件数取得をオプトアウトした場合 null。
+ */
+public record TaskPage<T extends TaskRow>(
+        List<T> tasks,
+        boolean hasPrevious,
+        boolean hasNext,
+        Long totalCount
+) {
+
+    public Long firstId() {
+        return tasks.isEmpty() ? null : tasks.get(0).id();
+    }
+
+    public Long lastId() {
+        return tasks.isEmpty() ? null : tasks.get(tasks.size() - 1).id();
+    }
+}
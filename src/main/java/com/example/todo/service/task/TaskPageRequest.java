@@ -0,0 +1,21 @@
+package com.example.todo.service.task;
+
+/**
+ * id をキーにしたシーク(keyset)ページングの条件。
+ * after / before はどちらか一方のみ指定する(両方 null なら先頭ページ)。
+ */
+public record TaskPageRequest(
+        Long after,
+        Long before,
+        Integer size,
+        boolean withCount
+) {
+
+    public static TaskPageRequest first(Integer size) {
+        return new TaskPageRequest(null, null, size, true);
+    }
+
+    public boolean isBackward() {
+        return before != null;
+    }
+}
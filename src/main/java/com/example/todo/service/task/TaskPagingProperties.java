@@ -0,0 +1,18 @@
+package com.example.todo.service.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("todo.task.paging")
+public record TaskPagingProperties(
+        @DefaultValue("20") int defaultSize,
+        @DefaultValue("100") int maxSize
+) {
+
+    public int resolve(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+}
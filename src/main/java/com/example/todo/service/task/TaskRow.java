@@ -0,0 +1,13 @@
+package com.example.todo.service.task;
+
+/**
+ * 一覧・ページングで扱う行 (TaskEntity と一覧用の射影 TaskSummaryEntity) に共通の項目。
+ */
+public interface TaskRow {
+
+    Long id();
+
+    String summary();
+
+    TaskStatus status();
+}
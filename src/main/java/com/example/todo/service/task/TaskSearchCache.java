@@ -0,0 +1,141 @@
+package com.example.todo.service.task;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 検索結果のキャッシュ。キーは正規化した検索条件(とページ条件)。
+ * 各エントリには読み込み開始時点の書き込みバージョンを記録し、作成・更新・削除のコミットでバージョンを進める。
+ * バージョンが古いエントリは参照時に捨てるので、書き込みのたびにキャッシュ全体を走査する必要はない。
+ */
+@Component
+public class TaskSearchCache {
+
+    // 1行あたりの固定オーバーヘッド(参照・ヘッダ・id・ステータス)の概算
+    private static final int ROW_OVERHEAD_BYTES = 64;
+
+    private final boolean enabled;
+
+    private final AtomicLong writeVersion = new AtomicLong();
+
+    // 再起動でバージョンが 0 に戻っても以前のタグと衝突しないよう、起動時刻を含める
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Cache<Object, Entry> cache;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter stale;
+
+    private final TaskSearchCoalescer coalescer;
+
+    public TaskSearchCache(TaskCacheProperties properties, TaskSearchCoalescer coalescer, MeterRegistry meterRegistry) {
+        this.coalescer = coalescer;
+        var search = properties.search();
+        this.enabled = search.enabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(search.maximumSize().toBytes())
+                .weigher((Object key, Entry entry) -> entry.weight())
+                .expireAfterWrite(search.ttl())
+                .recordStats()
+                .build();
+
+        this.hits = meterRegistry.counter("tasks.search.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("tasks.search.cache.requests", "result", "miss");
+        this.stale = meterRegistry.counter("tasks.search.cache.requests", "result", "stale");
+        FunctionCounter.builder("tasks.search.cache.evictions", cache, c -> c.stats().evictionCount())
+                .register(meterRegistry);
+        Gauge.builder("tasks.search.cache.size", cache, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * キャッシュ済みで最新の結果があればそれを返し、なければ loader で読み込んでキャッシュする。
+     * 同じ条件の読み込みが実行中であれば、その結果を待って共有する。
+     * 結果は呼び出し元で共有されるため、変更できないオブジェクトを返すこと。
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Supplier<T> loader, ToIntFunction<T> weigher) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        // 読み込み中にコミットされた変更を取りこぼさないよう、読み込み前のバージョンで記録する
+        long version = writeVersion.get();
+        if (enabled) {
+            var entry = cache.policy().getIfPresentQuietly(key);
+            if (entry != null && entry.version() == version) {
+                hits.increment();
+                return (T) entry.result();
+            }
+            if (entry != null) {
+                stale.increment();
+            } else {
+                misses.increment();
+            }
+        }
+
+        // コミット後に来た呼び出しがコミット前に始まった読み込みに相乗りしないよう、バージョンもキーに含める
+        T result = coalescer.execute(new VersionedKey(key, version), loader);
+        if (enabled) {
+            cache.put(key, new Entry(version, result, weigher.applyAsInt(result)));
+        }
+        return result;
+    }
+
+    public long writeVersion() {
+        return writeVersion.get();
+    }
+
+    // HTTP の検証子などに使う、このインスタンスでの書き込みバージョンの表現
+    public String versionTag() {
+        return epoch + "." + writeVersion.get();
+    }
+
+    // 新しいバージョンで読み込んだ結果が古いインデックスを見ないよう、TaskSummaryIndex が変更を反映した後に進める
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        writeVersion.incrementAndGet();
+    }
+
+    // 結果に含まれるタスクのおおよそのヒープ使用量
+    static int weigh(List<? extends TaskRow> tasks) {
+        long bytes = 0;
+        for (var task : tasks) {
+            bytes += ROW_OVERHEAD_BYTES + 2L * length(task.summary());
+            if (task instanceof TaskEntity entity) {
+                bytes += 2L * length(entity.description());
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private record Entry(long version, Object result, int weight) {
+    }
+
+    private record VersionedKey(Object key, long version) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.todo.service.task;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 同じキーの検索が同時に実行された場合に、先着の 1 件だけが DB に問い合わせ、
+ * 後続はその結果を待って共有する(single-flight)。
+ * 後続の呼び出しはタイムアウトや割り込みで待つのをやめられるが、先着の問い合わせは中断しない。
+ */
+@Component
+public class TaskSearchCoalescer {
+
+    private final boolean enabled;
+
+    private final long timeoutMillis;
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter saved;
+
+    private final Counter timeouts;
+
+    public TaskSearchCoalescer(TaskCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.timeoutMillis = properties.timeout().toMillis();
+        this.saved = meterRegistry.counter("tasks.search.coalesced");
+        this.timeouts = meterRegistry.counter("tasks.search.coalesce.timeouts");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        var own = new CompletableFuture<Object>();
+        var running = inFlight.putIfAbsent(key, own);
+        if (running == null) {
+            try {
+                T result = loader.get();
+                own.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                own.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, own);
+            }
+        }
+
+        try {
+            T result = (T) running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            saved.increment();
+            return result;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new TaskSearchTimeoutException("同じ条件の検索の完了を待てませんでした", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskSearchTimeoutException("検索の待機が中断されました", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
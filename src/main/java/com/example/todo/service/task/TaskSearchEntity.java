@@ -6,4 +6,11 @@ public record TaskSearchEntity(
         String summary,
         List<TaskStatus> status
 ) {
+
+    // 同じ意味の検索条件を同じ値にそろえる(空白のみの概要は条件なし、ステータスは重複を除いて定義順)
+    public TaskSearchEntity normalize() {
+        var normalizedSummary = summary == null || summary.isBlank() ? null : summary;
+        var normalizedStatus = status == null ? List.<TaskStatus>of() : status.stream().distinct().sorted().toList();
+        return new TaskSearchEntity(normalizedSummary, normalizedStatus);
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.todo.service.task;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TaskSearchTimeoutException extends RuntimeException {
+
+    public TaskSearchTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.todo.service.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("todo.task.seed")
+public record TaskSeedProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000000") int count,
+        @DefaultValue("42") long randomSeed,
+        @DefaultValue("100000") int chunkSize
+) {
+}
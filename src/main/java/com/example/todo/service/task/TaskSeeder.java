@@ -0,0 +1,78 @@
+package com.example.todo.service.task;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.todo.repository.task.TaskRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 起動時に TaskDataGenerator で生成したタスクを count 件登録する (seed プロファイルで有効)。
+ * chunkSize 件ずつ一時 CSV に書き出して H2 の CSVREAD で取り込む。
+ * ApplicationReadyEvent より前に実行されるので、概要のインデックスは登録後のデータで構築される。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "todo.task.seed.enabled", havingValue = "true")
+public class TaskSeeder implements ApplicationRunner {
+
+    private final TaskRepository taskRepository;
+
+    private final TaskSeedProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long start = System.nanoTime();
+        var generator = new TaskDataGenerator(properties.randomSeed());
+        var file = Files.createTempFile("tasks-seed", ".csv");
+        try {
+            int seeded = 0;
+            while (seeded < properties.count()) {
+                int rows = Math.min(properties.chunkSize(), properties.count() - seeded);
+                writeCsv(file, generator, rows);
+                seeded += taskRepository.insertFromCsv(file.toAbsolutePath().toString());
+                log.info("seeded {} / {} tasks", seeded, properties.count());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        log.info("seeded {} tasks in {} ms (random seed {})",
+                properties.count(), (System.nanoTime() - start) / 1_000_000, properties.randomSeed());
+    }
+
+    private static void writeCsv(Path file, TaskDataGenerator generator, int rows) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("summary,description,status\n");
+            for (int i = 0; i < rows; i++) {
+                var task = generator.next();
+                writer.write(quote(task.summary()));
+                writer.write(',');
+                // 空のフィールドは CSVREAD で NULL になる
+                if (task.description() != null) {
+                    writer.write(quote(task.description()));
+                }
+                writer.write(',');
+                writer.write(task.status().name());
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
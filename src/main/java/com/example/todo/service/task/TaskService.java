@@ -2,13 +2,26 @@ package com.example.todo.service.task;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.todo.repository.task.TaskBatchRepository;
 import com.example.todo.repository.task.TaskRepository;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -16,29 +29,298 @@ public class TaskService {
 
     private final TaskRepository taskRepository;
 
+    private final TaskBatchRepository taskBatchRepository;
+
+    private final TaskPagingProperties pagingProperties;
+
+    private final TaskChangesProperties changesProperties;
+
+    private final TaskSummaryIndex summaryIndex;
+
+    private final TaskEntityCache entityCache;
+
+    private final TaskSearchCache searchCache;
+
+    private final TaskWriteBehindQueue writeBehindQueue;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // IN 句に並べる id の上限
+    private static final int ID_CHUNK_SIZE = 1000;
+
+
+    /**
+     * 検索結果のバージョン。作成・更新・削除がコミットされるたびに変わるので、
+     * 同じ値であれば同じ条件の検索結果も変わっていない(このインスタンス経由の書き込みに限る)。
+     */
+    public String searchVersion() {
+        return searchCache.versionTag();
+    }
 
     public List<TaskEntity> find(TaskSearchEntity searchEntity) {
-        return taskRepository.select(searchEntity);
+        var condition = searchEntity.normalize();
+        return searchCache.get(condition, () -> select(condition), TaskSearchCache::weigh);
+    }
+
+    private List<TaskEntity> select(TaskSearchEntity searchEntity) {
+        return List.copyOf(summaryIndex.search(searchEntity)
+                .map(ids -> selectByIds(ids, searchEntity, taskRepository::selectByIds))
+                .orElseGet(() -> taskRepository.select(searchEntity)));
+    }
+
+    // 一覧の全件表示用。検索結果を 1 行ずつ consumer に渡す。consumer の処理中は読み取り専用トランザクションとカーソルが開いたままになる
+    @Transactional(readOnly = true)
+    public void scan(TaskSearchEntity searchEntity, Consumer<Iterator<TaskSummaryEntity>> consumer) {
+        try (var cursor = taskRepository.selectSummaryCursor(searchEntity)) {
+            consumer.accept(cursor.iterator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public TaskPage<TaskEntity> findPage(TaskSearchEntity searchEntity, TaskPageRequest pageRequest) {
+        var condition = searchEntity.normalize();
+        int size = pagingProperties.resolve(pageRequest.size());
+        var key = new PageKey(condition, withSize(pageRequest, size), false);
+        return searchCache.get(key,
+                () -> selectPage(condition, pageRequest, size, taskRepository::selectPage, taskRepository::selectByIds),
+                page -> TaskSearchCache.weigh(page.tasks()));
+    }
+
+    // 一覧画面用。description を読まない射影でページを取得する
+    public TaskPage<TaskSummaryEntity> findSummaryPage(TaskSearchEntity searchEntity, TaskPageRequest pageRequest) {
+        var condition = searchEntity.normalize();
+        int size = pagingProperties.resolve(pageRequest.size());
+        var key = new PageKey(condition, withSize(pageRequest, size), true);
+        return searchCache.get(key,
+                () -> selectPage(condition, pageRequest, size, taskRepository::selectSummaryPage, taskRepository::selectSummariesByIds),
+                page -> TaskSearchCache.weigh(page.tasks()));
+    }
+
+    // エクスポートなど全件を順に読む用途。キャッシュを通さず、after より後ろを id 昇順で limit 件だけ読む
+    public List<TaskEntity> findAfter(TaskSearchEntity searchEntity, Long after, int limit) {
+        var condition = searchEntity.normalize();
+        return taskRepository.selectPage(condition, new TaskPageRequest(after, null, limit, false), limit);
+    }
+
+    private <T extends TaskRow> TaskPage<T> selectPage(TaskSearchEntity searchEntity, TaskPageRequest pageRequest, int size,
+            PageQuery<T> pageQuery, Function<List<Long>, List<T>> idQuery) {
+        var matchedIds = summaryIndex.search(searchEntity);
+        // 1件多く取得して次(前)のページの有無を判定する
+        var rows = matchedIds
+                .map(ids -> selectByIds(seek(ids, pageRequest, size + 1), searchEntity, idQuery))
+                .orElseGet(() -> pageQuery.select(searchEntity, pageRequest, size + 1));
+        if (matchedIds.isPresent() && pageRequest.isBackward()) {
+            // DB のシークと同じく before から遠ざかる順(id 降順)にそろえる
+            Collections.reverse(rows);
+        }
+        boolean hasMore = rows.size() > size;
+        var tasks = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+
+        boolean hasPrevious;
+        boolean hasNext;
+        if (pageRequest.isBackward()) {
+            Collections.reverse(tasks);
+            hasPrevious = hasMore;
+            hasNext = true;
+        } else {
+            hasPrevious = pageRequest.after() != null;
+            hasNext = hasMore;
+        }
+
+        Long totalCount = !pageRequest.withCount() ? null
+                : matchedIds.map(ids -> (long) ids.size()).orElseGet(() -> taskRepository.count(searchEntity));
+        return new TaskPage<>(List.copyOf(tasks), hasPrevious, hasNext, totalCount);
     }
 
+    private static TaskPageRequest withSize(TaskPageRequest pageRequest, int size) {
+        return new TaskPageRequest(pageRequest.after(), pageRequest.before(), size, pageRequest.withCount());
+    }
+
+    @FunctionalInterface
+    private interface PageQuery<T> {
+        List<T> select(TaskSearchEntity condition, TaskPageRequest pageRequest, int limit);
+    }
+
+    // summaryOnly は一覧用の射影かどうか (同じ条件でも結果の型が異なる)
+    private record PageKey(TaskSearchEntity condition, TaskPageRequest pageRequest, boolean summaryOnly) {
+    }
+
+    // 昇順の id 列からページ分を切り出す(前ページの場合は before 直前の limit 件)
+    private static List<Long> seek(List<Long> ids, TaskPageRequest pageRequest, int limit) {
+        if (pageRequest.isBackward()) {
+            int end = insertionPoint(ids, pageRequest.before(), false);
+            return ids.subList(Math.max(0, end - limit), end);
+        }
+        int start = pageRequest.after() == null ? 0 : insertionPoint(ids, pageRequest.after(), true);
+        return ids.subList(start, Math.min(ids.size(), start + limit));
+    }
+
+    private static int insertionPoint(List<Long> ids, long key, boolean exclusive) {
+        int i = Collections.binarySearch(ids, key);
+        if (i >= 0) {
+            return exclusive ? i + 1 : i;
+        }
+        return -i - 1;
+    }
+
+    // インデックスの反映はコミット後なので、DB から読んだ行でも条件を満たすか確認する
+    private <T extends TaskRow> List<T> selectByIds(List<Long> ids, TaskSearchEntity searchEntity, Function<List<Long>, List<T>> idQuery) {
+        var statuses = searchEntity.status();
+        var result = new ArrayList<T>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            var chunk = ids.subList(from, Math.min(ids.size(), from + ID_CHUNK_SIZE));
+            idQuery.apply(chunk).stream()
+                    .filter(task -> task.summary().contains(searchEntity.summary()))
+                    .filter(task -> statuses == null || statuses.isEmpty() || statuses.contains(task.status()))
+                    .forEach(result::add);
+        }
+        return result;
+    }
+
+
+    /**
+     * since より後の作成・更新・削除を change_seq 順に返す。初回は since=0 で全件を取得する。
+     * 同じタスクの変更は最新の 1 件だけが残る (更新で change_seq が振り直されるため)。
+     */
+    public TaskChanges findChanges(long since, Integer size) {
+        int limit = changesProperties.resolve(size);
+        var rows = taskRepository.selectChanges(since, limit + 1);
+        // 確定していない変更より後ろは、番号の小さい変更を飛ばさないよう次回に回す
+        var horizon = OffsetDateTime.now().minus(changesProperties.settleTime());
+        int end = 0;
+        while (end < Math.min(rows.size(), limit) && !rows.get(end).updatedAt().isAfter(horizon)) {
+            end++;
+        }
+        var changes = List.copyOf(rows.subList(0, end));
+        long next = changes.isEmpty() ? since : changes.get(end - 1).changeSeq();
+        return new TaskChanges(changes, next, end == limit && rows.size() > limit);
+    }
 
     public Optional<TaskEntity> findById(long taskId) {
-        return taskRepository.selectById(taskId);
+        return entityCache.get(taskId, () -> taskRepository.selectById(taskId));
+    }
+
+    /**
+     * タスクを登録し、採番された id を返す。
+     * write-behind が有効な場合はキューに積み、他の登録とまとめてコミットされるまで待つ。
+     * 待っている間に DB 接続を保持しないよう、このメソッド自体はトランザクションを開始しない
+     * (無効な場合は INSERT だけのトランザクションで登録し、イベントはコミット後に通知する)。
+     */
+    public long create(TaskEntity newEntity) {
+        if (writeBehindQueue.enabled()) {
+            return writeBehindQueue.submit(newEntity);
+        }
+        long id = transactionTemplate.execute(status -> {
+            long started = System.nanoTime();
+            long inserted = taskRepository.insert(newEntity);
+            changesProperties.checkWriteTime(started);
+            return inserted;
+        });
+        eventPublisher.publishEvent(TaskChangedEvent.created(id, newEntity));
+        return id;
     }
 
+    /**
+     * タスクを更新し、更新後のタスクを返す。
+     * entity.version を指定した場合、読み込んだ後に他の更新・削除がコミットされていれば TaskConflictException を投げる。
+     * 指定しない場合、存在しない id の更新は何もせず、変更も通知しない。
+     * どちらの場合も、返すタスクと通知するイベントは更新後のバージョンを持つ。
+     */
     @Transactional
-    public void create(TaskEntity newEntity) {
-        taskRepository.insert(newEntity);
+    public TaskEntity update(TaskEntity entity) {
+        long started = System.nanoTime();
+        if (taskRepository.update(entity) == 0) {
+            if (entity.version() != null) {
+                throw new TaskConflictException(entity.id(), taskRepository.selectById(entity.id()).orElse(null));
+            }
+            // 通知するとインデックスなどに存在しないタスクが登録されてしまう
+            return entity;
+        }
+        // バージョンを指定しない更新は、採番されたバージョンを同じトランザクションで読み直す
+        var updated = entity.version() == null ? taskRepository.selectById(entity.id()).orElse(entity) : nextVersion(entity);
+        changesProperties.checkWriteTime(started);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(updated));
+        return updated;
+    }
 
+    // 存在しない id の削除は何もせず、変更も通知しない
+    @Transactional
+    public void delete(long id) {
+        long started = System.nanoTime();
+        taskRepository.insertTombstones(List.of(id));
+        if (taskRepository.delete(id) > 0) {
+            changesProperties.checkWriteTime(started);
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
+        }
     }
 
+    // 以下の一括処理は 1 トランザクションで JDBC バッチとして実行する。
+    // 単体の書き込みと同じく、変更フィードが取りこぼさないよう maxWriteTime を超えたらロールバックする (TaskChangesProperties)
+
     @Transactional
-    public void update(TaskEntity entity) {
-        taskRepository.update(entity);
+    public List<Long> createAll(List<TaskEntity> newEntities) {
+        long started = System.nanoTime();
+        var ids = taskBatchRepository.insertAll(newEntities);
+        changesProperties.checkWriteTime(started);
+        for (int i = 0; i < ids.size(); i++) {
+            eventPublisher.publishEvent(TaskChangedEvent.created(ids.get(i), newEntities.get(i)));
+        }
+        return ids;
     }
 
+    /**
+     * タスクをまとめて更新し、更新件数を返す。
+     * version を指定した行が 1 件でも他の更新・削除と競合していれば、すべてロールバックして TaskConflictException を投げる。
+     * version を指定しない行は update と同じく、存在しない id を無視する。
+     */
     @Transactional
-    public void delete(long id) {
-        taskRepository.delete(id);
+    public int updateAll(List<TaskEntity> entities) {
+        long started = System.nanoTime();
+        var counts = taskBatchRepository.updateAll(entities);
+        var unversioned = new ArrayList<Long>();
+        for (int i = 0; i < counts.size(); i++) {
+            var entity = entities.get(i);
+            if (counts.get(i) == 0 && entity.version() != null) {
+                var current = taskBatchRepository.selectByIds(List.of(entity.id())).stream().findFirst().orElse(null);
+                throw new TaskConflictException(entity.id(), current);
+            }
+            if (counts.get(i) > 0 && entity.version() == null) {
+                unversioned.add(entity.id());
+            }
+        }
+        // バージョンを指定しなかった行だけ、まとめて読み直す (同じトランザクションなので BATCH エグゼキュータで読む)
+        var reloaded = new HashMap<Long, TaskEntity>();
+        for (int from = 0; from < unversioned.size(); from += ID_CHUNK_SIZE) {
+            taskBatchRepository.selectByIds(unversioned.subList(from, Math.min(unversioned.size(), from + ID_CHUNK_SIZE)))
+                    .forEach(task -> reloaded.put(task.id(), task));
+        }
+        changesProperties.checkWriteTime(started);
+        int updated = 0;
+        for (int i = 0; i < counts.size(); i++) {
+            if (counts.get(i) > 0) {
+                var entity = entities.get(i);
+                var current = entity.version() == null ? reloaded.getOrDefault(entity.id(), entity) : nextVersion(entity);
+                eventPublisher.publishEvent(TaskChangedEvent.updated(current));
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    private static TaskEntity nextVersion(TaskEntity entity) {
+        return new TaskEntity(entity.id(), entity.summary(), entity.description(), entity.status(), entity.version() + 1);
+    }
+
+    @Transactional
+    public int deleteAll(Collection<Long> ids) {
+        long started = System.nanoTime();
+        var deleted = taskBatchRepository.deleteAll(ids);
+        changesProperties.checkWriteTime(started);
+        // 存在しなかった id は通知しない
+        deleted.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(id)));
+        return deleted.size();
     }
 }
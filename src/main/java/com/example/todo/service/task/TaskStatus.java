@@ -1,8 +1,31 @@
 package com.example.todo.service.task;
 
+/**
+ * タスクのステータス。DB には code (SMALLINT) で保存する。
+ * code は保存済みのデータと task_statuses テーブルに対応するので、既存の値は変更しないこと。
+ */
 public enum TaskStatus {
 
-    TODO,
-    DOING,
-    DONE
+    TODO(1),
+    DOING(2),
+    DONE(3);
+
+    private final short code;
+
+    TaskStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static TaskStatus fromCode(int code) {
+        for (var status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("unknown task status code: " + code);
+    }
 }
@@ -0,0 +1,11 @@
+package com.example.todo.service.task;
+
+/**
+ * 一覧表示用の射影。サイズの大きい description を読まない。
+ */
+public record TaskSummaryEntity(
+        Long id,
+        String summary,
+        TaskStatus status
+) implements TaskRow {
+}
@@ -0,0 +1,325 @@
+package com.example.todo.service.task;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todo.repository.task.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * tasks.summary の部分一致検索用の n-gram 転置インデックス。
+ * 日本語の概要は単語分割できないため、1文字(unigram)と2文字(bigram)の gram ごとに id の転置リストを持ち、
+ * 検索語の gram の転置リストを積集合して候補を絞ってから実際の概要で部分一致を確認する。
+ * 転置リストは構築時に作る id の昇順配列と、その後の作成・更新分の小さな差分からなる。
+ * 更新・削除された id は配列に残したまま検索時に除外し、差分が大きくなったらメモリ上のタスクから配列を作り直す。
+ * インデックスの更新はトランザクションのコミット後に行う。
+ * <p>
+ * 部分一致の確認と配列の作り直しのために全タスクの概要とステータスをメモリに持つ。
+ * 1 件あたりおよそ 100 バイト + 概要の文字数 × 2 バイトに加え、転置リストに gram 1 つにつき 8 バイトかかる。
+ * タスクが maxTasks 件を超えたらインデックスを破棄し、再起動まで DB の LIKE 検索に任せる。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskSummaryIndex {
+
+    // 構築後の変更がこの件数と全タスク数の 1/16 の大きい方を超えたら、配列を作り直す
+    private static final int MIN_COMPACTION_THRESHOLD = 1024;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final TaskRepository taskRepository;
+
+    private final TaskSummaryIndexProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 構築時点の gram ごとの id (昇順)。id ごとにオブジェクトを持たないよう long の配列で持つ
+    private Map<String, long[]> postings = Map.of();
+
+    // 構築後に作成・更新されたタスクの gram ごとの id
+    private final Map<String, NavigableSet<Long>> delta = new HashMap<>();
+
+    private final Map<Long, TaskSummaryEntity> tasks = new HashMap<>();
+
+    // 構築後に反映した変更の件数
+    private int changes;
+
+    private volatile boolean ready;
+
+    // maxTasks を超えてインデックスを破棄したか
+    private boolean overflowed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+        // 再構築中に届いた変更は書き込みロックの解放後に適用される(適用は冪等)
+        lock.writeLock().lock();
+        try {
+            tasks.clear();
+            overflowed = false;
+            var builder = new PostingsBuilder();
+            taskRepository.selectSummaries(context -> {
+                if (overflowed) {
+                    return;
+                }
+                if (tasks.size() == properties.maxTasks()) {
+                    overflowed = true;
+                    context.stop();
+                    return;
+                }
+                var task = context.getResultObject();
+                tasks.put(task.id(), task);
+                builder.add(task);
+            });
+            if (overflowed) {
+                discard();
+                return;
+            }
+            install(builder);
+            ready = true;
+            log.info("summary index rebuilt: {} tasks, {} grams", tasks.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 概要の条件に合致する id を昇順で返す。
+     * 概要の条件がない場合やインデックスが使えない場合は空の Optional を返すので、DB で検索すること。
+     */
+    public Optional<List<Long>> search(TaskSearchEntity condition) {
+        var keyword = condition.summary();
+        if (keyword == null || keyword.isEmpty() || !ready) {
+            return Optional.empty();
+        }
+        // 再構築中は待たずに DB 検索へ切り替える
+        if (!lock.readLock().tryLock()) {
+            return Optional.empty();
+        }
+        try {
+            var statuses = condition.status() == null ? Set.<TaskStatus>of() : Set.copyOf(condition.status());
+            // 最も短い転置リストだけを走査し、他の gram は二分探索で確認する(リストは複製しない)
+            var lists = new ArrayList<Posting>();
+            for (var gram : queryGrams(keyword)) {
+                var posting = posting(gram);
+                if (posting.size() == 0) {
+                    return Optional.of(List.of());
+                }
+                lists.add(posting);
+            }
+            int shortestIndex = 0;
+            for (int i = 1; i < lists.size(); i++) {
+                if (lists.get(i).size() < lists.get(shortestIndex).size()) {
+                    shortestIndex = i;
+                }
+            }
+            var shortest = lists.remove(shortestIndex);
+
+            var matched = new ArrayList<Long>();
+            shortest.forEachAscending(id -> {
+                if (contains(lists, id) && matches(tasks.get(id), keyword, statuses)) {
+                    matched.add(id);
+                }
+            });
+            return Optional.of(matched);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 検索キャッシュのバージョンを進める前に反映する (TaskSearchCache.onTaskChanged を参照)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!properties.enabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (overflowed) {
+                return;
+            }
+            // 以前の概要の gram に残る id は、検索時に tasks と照合して除外する
+            tasks.remove(event.id());
+            if (event.type() != TaskChangedEvent.Type.DELETED) {
+                var task = event.task();
+                tasks.put(event.id(), new TaskSummaryEntity(event.id(), task.summary(), task.status()));
+                for (var gram : indexGrams(task.summary())) {
+                    delta.computeIfAbsent(gram, g -> new TreeSet<>()).add(event.id());
+                }
+            }
+            if (tasks.size() > properties.maxTasks()) {
+                overflowed = true;
+                discard();
+                return;
+            }
+            if (++changes > Math.max(MIN_COMPACTION_THRESHOLD, tasks.size() / 16)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 差分と削除済みの id を除いた配列をメモリ上のタスクから作り直す (DB は読まない)
+    private void compact() {
+        var builder = new PostingsBuilder();
+        tasks.values().forEach(builder::add);
+        install(builder);
+        log.debug("summary index compacted: {} tasks, {} grams", tasks.size(), postings.size());
+    }
+
+    // maxTasks を超えたので、保持しているタスクと転置リストを手放して DB 検索に切り替える
+    private void discard() {
+        ready = false;
+        tasks.clear();
+        postings = Map.of();
+        delta.clear();
+        changes = 0;
+        log.warn("summary index disabled: more than {} tasks, falling back to LIKE search", properties.maxTasks());
+    }
+
+    private void install(PostingsBuilder builder) {
+        postings = builder.build();
+        delta.clear();
+        changes = 0;
+    }
+
+    private Posting posting(String gram) {
+        var added = delta.get(gram);
+        return new Posting(postings.getOrDefault(gram, EMPTY),
+                added == null ? Collections.emptyNavigableSet() : added);
+    }
+
+    private static boolean contains(List<Posting> lists, long id) {
+        for (var list : lists) {
+            if (!list.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(TaskSummaryEntity task, String keyword, Set<TaskStatus> statuses) {
+        return task != null && task.summary().contains(keyword)
+                && (statuses.isEmpty() || statuses.contains(task.status()));
+    }
+
+    // 概要の全 unigram と bigram
+    static Set<String> indexGrams(String text) {
+        var grams = new LinkedHashSet<String>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 2 <= text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    // 検索語は 2 文字以上なら bigram、1 文字ならその unigram で引く
+    static Set<String> queryGrams(String keyword) {
+        if (keyword.length() == 1) {
+            return Set.of(keyword);
+        }
+        var grams = new LinkedHashSet<String>();
+        for (int i = 0; i + 2 <= keyword.length(); i++) {
+            grams.add(keyword.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    // 1 つの gram の転置リスト。配列と差分の両方に同じ id が入っていることがある
+    private record Posting(long[] base, NavigableSet<Long> added) {
+
+        int size() {
+            return base.length + added.size();
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(base, id) >= 0 || added.contains(id);
+        }
+
+        // 配列と差分をマージして、重複なく昇順に渡す
+        void forEachAscending(LongConsumer action) {
+            Iterator<Long> iterator = added.iterator();
+            Long pending = iterator.hasNext() ? iterator.next() : null;
+            int i = 0;
+            while (i < base.length || pending != null) {
+                long id;
+                if (pending == null || i < base.length && base[i] <= pending) {
+                    id = base[i++];
+                    if (pending != null && id == pending) {
+                        pending = iterator.hasNext() ? iterator.next() : null;
+                    }
+                } else {
+                    id = pending;
+                    pending = iterator.hasNext() ? iterator.next() : null;
+                }
+                action.accept(id);
+            }
+        }
+    }
+
+    // gram ごとに id を追記し、最後に昇順の配列にする
+    private static class PostingsBuilder {
+
+        private final Map<String, LongList> lists = new HashMap<>();
+
+        void add(TaskSummaryEntity task) {
+            for (var gram : indexGrams(task.summary())) {
+                lists.computeIfAbsent(gram, g -> new LongList()).add(task.id());
+            }
+        }
+
+        Map<String, long[]> build() {
+            var result = new HashMap<String, long[]>(lists.size() * 4 / 3 + 1);
+            lists.forEach((gram, list) -> result.put(gram, list.toSortedArray()));
+            return result;
+        }
+    }
+
+    private static class LongList {
+
+        private long[] values = new long[4];
+
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            var array = Arrays.copyOf(values, size);
+            Arrays.sort(array);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.todo.service.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// maxTasks はインデックスに載せるタスク数の上限。超えたらインデックスを破棄して LIKE 検索に切り替える
+@ConfigurationProperties("todo.task.summary-index")
+public record TaskSummaryIndexProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000000") int maxTasks
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.todo.service.task;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * TaskService.create の write-behind (キューに積んでまとめてコミットする) の設定。
+ * 先頭のタスクが積まれてから maxDelay 経つか batchSize 件たまった時点で 1 トランザクションで登録する。
+ * キューが capacity 件で埋まっている場合、登録は offerTimeout まで空きを待ってから TaskQueueFullException になる。
+ */
+@ConfigurationProperties("todo.task.write-behind")
+public record TaskWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int capacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20ms") Duration maxDelay,
+        @DefaultValue("1s") Duration offerTimeout,
+        @DefaultValue("30s") Duration shutdownTimeout
+) {
+}
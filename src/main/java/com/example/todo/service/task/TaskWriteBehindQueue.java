@@ -0,0 +1,237 @@
+package com.example.todo.service.task;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo.repository.task.TaskBatchRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * タスク作成の write-behind キュー。
+ * 呼び出し元はタスクをキューに積み、専用スレッドがまとめて 1 トランザクション (JDBC バッチ) で登録する (グループコミット)。
+ * submit はコミットされるまで戻らないので、戻り値の id は永続化済み。
+ * 停止時は受け付けをやめ、積まれているタスクをすべて登録してから終了する。
+ */
+@Slf4j
+@Component
+public class TaskWriteBehindQueue implements SmartLifecycle {
+
+    private final TaskWriteBehindProperties properties;
+
+    private final TaskBatchRepository taskBatchRepository;
+
+    private final TaskChangesProperties changesProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BlockingQueue<Pending> queue;
+
+    // 受け付けの停止と積み込みが交差しないよう、積み込みは読み取りロック、停止は書き込みロックで行う
+    private final ReentrantReadWriteLock acceptLock = new ReentrantReadWriteLock();
+
+    private final Counter rejected;
+
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean accepting;
+
+    private Thread flusher;
+
+    public TaskWriteBehindQueue(TaskWriteBehindProperties properties, TaskBatchRepository taskBatchRepository,
+            TaskChangesProperties changesProperties, PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.taskBatchRepository = taskBatchRepository;
+        this.changesProperties = changesProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(properties.capacity());
+        this.rejected = meterRegistry.counter("tasks.write-behind.rejected");
+        this.batchSizes = DistributionSummary.builder("tasks.write-behind.batch.size").register(meterRegistry);
+        Gauge.builder("tasks.write-behind.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * タスクをキューに積み、登録がコミットされるまで待って採番された id を返す。
+     * キューが満杯のまま offerTimeout を過ぎた場合や停止中は TaskQueueFullException を投げる。
+     */
+    public long submit(TaskEntity newEntity) {
+        var pending = new Pending(newEntity, new CompletableFuture<>());
+        acceptLock.readLock().lock();
+        try {
+            if (!accepting) {
+                rejected.increment();
+                throw new TaskQueueFullException("タスクの登録を受け付けていません");
+            }
+            if (!queue.offer(pending, properties.offerTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new TaskQueueFullException("登録待ちのタスクが多すぎます");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskQueueFullException("タスクの登録待ちが中断されました");
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        return await(pending.id());
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        flusher = new Thread(this::run, "task-write-behind");
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        acceptLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        try {
+            flusher.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.warn("write-behind queue did not drain within {}; {} tasks left", properties.shutdownTimeout(), queue.size());
+            flusher.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null && flusher.isAlive();
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.enabled();
+    }
+
+    // Web サーバーの停止 (処理中のリクエストの完了) より後に止める
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        var batch = new ArrayList<Pending>(properties.batchSize());
+        try {
+            while (accepting || !queue.isEmpty()) {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // 停止のタイムアウトで割り込まれた場合、残りは登録せずに失敗させる
+            queue.drainTo(batch);
+            batch.forEach(pending -> pending.id().completeExceptionally(new TaskQueueFullException("タスクの登録を受け付けていません")));
+        }
+    }
+
+    // 先頭のタスクから maxDelay 経つか batchSize 件になるまで集める
+    private void collect(List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.maxDelay().toNanos();
+        while (batch.size() < properties.batchSize()) {
+            queue.drainTo(batch, properties.batchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.batchSize() || remaining <= 0) {
+                return;
+            }
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        try {
+            var ids = insert(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).id().complete(ids.get(i));
+            }
+        } catch (RuntimeException e) {
+            // 1 件の不正なタスクで同じバッチの他のタスクまで失敗させないよう、1 件ずつ登録し直す
+            log.warn("write-behind batch of {} tasks failed; retrying one by one", batch.size(), e);
+            for (var pending : batch) {
+                try {
+                    pending.id().complete(insert(List.of(pending)).get(0));
+                } catch (RuntimeException single) {
+                    pending.id().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private List<Long> insert(List<Pending> batch) {
+        return transactionTemplate.execute(status -> {
+            long started = System.nanoTime();
+            var newEntities = batch.stream().map(Pending::task).toList();
+            var ids = taskBatchRepository.insertAll(newEntities);
+            // 変更フィードが取りこぼさないよう maxWriteTime を超えてコミットしない (超えた場合は 1 件ずつの登録に切り替わる)
+            changesProperties.checkWriteTime(started);
+            for (int i = 0; i < ids.size(); i++) {
+                eventPublisher.publishEvent(TaskChangedEvent.created(ids.get(i), newEntities.get(i)));
+            }
+            return ids;
+        });
+    }
+
+    private static long await(CompletableFuture<Long> id) {
+        try {
+            return id.get();
+        } catch (InterruptedException e) {
+            // 登録自体は取り消せないので、呼び出し元には結果を返せないことだけを伝える
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("タスクの登録完了を待つ間に中断されました", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record Pending(TaskEntity task, CompletableFuture<Long> id) {
+    }
+}
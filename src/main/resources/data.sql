@@ -1,2 +1,2 @@
-INSERT INTO tasks (summary, description, status) VALUES ('Spring Boot を学ぶ', 'TODO アプリを作る', 'DONE');
-INSERT INTO tasks (summary, description, status) VALUES ('Spring Security を学ぶ', 'ログイン機能を作る', 'TODO');
+INSERT INTO tasks (summary, description, status) VALUES ('Spring Boot を学ぶ', 'TODO アプリを作る', (SELECT code FROM task_statuses WHERE name = 'DONE'));
+INSERT INTO tasks (summary, description, status) VALUES ('Spring Security を学ぶ', 'ログイン機能を作る', (SELECT code FROM task_statuses WHERE name = 'TODO'));
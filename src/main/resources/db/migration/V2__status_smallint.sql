@@ -0,0 +1,26 @@
+-- tasks.status を VARCHAR (ステータス名) から SMALLINT (コード) に変換し、索引を追加する。
+-- schema.sql の変更前に作成された既存の DB に対して 1 度だけ実行する。
+-- 例: H2 コンソールで RUNSCRIPT FROM 'classpath:db/migration/V2__status_smallint.sql';
+
+CREATE TABLE IF NOT EXISTS task_statuses
+(
+  code SMALLINT NOT NULL PRIMARY KEY,
+  name VARCHAR(16) NOT NULL UNIQUE
+);
+
+MERGE INTO task_statuses (code, name) KEY (code) VALUES (1, 'TODO'), (2, 'DOING'), (3, 'DONE');
+
+ALTER TABLE tasks ADD COLUMN status_code SMALLINT;
+
+UPDATE tasks t SET status_code = (SELECT s.code FROM task_statuses s WHERE s.name = t.status);
+
+-- 未知のステータス名が残っていれば NOT NULL 制約の追加で失敗し、それ以降は実行されない
+ALTER TABLE tasks ALTER COLUMN status_code SET NOT NULL;
+
+ALTER TABLE tasks DROP COLUMN status;
+
+ALTER TABLE tasks ALTER COLUMN status_code RENAME TO status;
+
+ALTER TABLE tasks ADD FOREIGN KEY (status) REFERENCES task_statuses (code);
+
+CREATE INDEX idx_tasks_status_id ON tasks (status, id);
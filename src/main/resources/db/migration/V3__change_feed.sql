@@ -0,0 +1,20 @@
+-- 変更フィード用に tasks へ change_seq / updated_at を追加し、削除記録のテーブルを作成する。
+-- V2__status_smallint.sql の適用後の DB に対して 1 度だけ実行する。
+-- 既存の行には id 順とは限らない通し番号が振られるが、初回同期 (since=0) ではすべて返るので問題ない。
+
+CREATE SEQUENCE task_change_seq;
+
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT DEFAULT NEXT VALUE FOR task_change_seq NOT NULL;
+
+ALTER TABLE tasks ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+CREATE UNIQUE INDEX idx_tasks_change_seq ON tasks (change_seq);
+
+CREATE TABLE task_tombstones
+(
+  id BIGINT NOT NULL PRIMARY KEY,
+  change_seq BIGINT DEFAULT NEXT VALUE FOR task_change_seq NOT NULL,
+  deleted_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX idx_task_tombstones_change_seq ON task_tombstones (change_seq);
@@ -0,0 +1,4 @@
+-- 楽観ロック用に tasks へ version を追加する。
+-- V3__change_feed.sql の適用後の DB に対して 1 度だけ実行する。
+
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
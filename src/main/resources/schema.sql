@@ -1,7 +1,39 @@
+-- ステータスのコード表。コードは TaskStatus の code と一致させる
+CREATE TABLE task_statuses
+(
+  code SMALLINT NOT NULL PRIMARY KEY,
+  name VARCHAR(16) NOT NULL UNIQUE
+);
+
+INSERT INTO task_statuses (code, name) VALUES (1, 'TODO'), (2, 'DOING'), (3, 'DONE');
+
+-- 変更フィードの通し番号。tasks の作成・更新と task_tombstones の削除記録で共有する
+CREATE SEQUENCE task_change_seq;
+
 CREATE TABLE tasks
 (
   id BIGINT NOT NULL PRIMARY KEY AUTO_INCREMENT,
   summary VARCHAR(256) NOT NULL,
   description TEXT,
-  status VARCHAR(256) NOT NULL
-);
\ No newline at end of file
+  status SMALLINT NOT NULL REFERENCES task_statuses (code),
+  version BIGINT DEFAULT 0 NOT NULL,
+  change_seq BIGINT DEFAULT NEXT VALUE FOR task_change_seq NOT NULL,
+  updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- ステータスでの絞り込みと、ステータスで絞り込んだ上での id 順のシークページング用。
+-- 先頭列が status なので status だけの条件にもこの索引が使われ、status 単独の索引は不要
+CREATE INDEX idx_tasks_status_id ON tasks (status, id);
+
+-- 変更フィード (change_seq より後の変更) の取得用
+CREATE UNIQUE INDEX idx_tasks_change_seq ON tasks (change_seq);
+
+-- 削除したタスクの記録。同期クライアントに削除を伝えるために残す
+CREATE TABLE task_tombstones
+(
+  id BIGINT NOT NULL PRIMARY KEY,
+  change_seq BIGINT DEFAULT NEXT VALUE FOR task_change_seq NOT NULL,
+  deleted_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX idx_task_tombstones_change_seq ON task_tombstones (change_seq);
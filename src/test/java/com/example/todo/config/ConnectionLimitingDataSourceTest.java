@@ -0,0 +1,49 @@
+package com.example.todo.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ConnectionLimitingDataSourceTest {
+
+    @Test
+    @DisplayName("上限まで接続を借りると次の取得はタイムアウトし、closeで許可が戻ること")
+    void testLimit() throws Exception {
+        var target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        var dataSource = new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+
+        var first = dataSource.getConnection();
+        var second = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        // 二重に close しても許可は 1 回だけ戻る
+        first.close();
+        first.close();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+        second.close();
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("接続の取得に失敗した場合は許可を返すこと")
+    void testReleaseOnFailure() throws Exception {
+        var target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        var dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+}
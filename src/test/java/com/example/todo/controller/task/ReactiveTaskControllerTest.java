@@ -0,0 +1,65 @@
+package com.example.todo.controller.task;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todo.service.task.ReactiveTaskService;
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskStatus;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebMvcTest(ReactiveTaskController.class)
+public class ReactiveTaskControllerTest {
+    // MockMVCをインジェクションする
+    @Autowired
+    private MockMvc mockMvc;
+
+    // テスト対象クラスの呼び出し先（モック化対象）
+    @MockBean
+    private ReactiveTaskService reactiveTaskService;
+
+    @Test
+    @DisplayName("検索: 結果をNDJSONで1行ずつ返すこと")
+    void testSearch() throws Exception {
+        when(reactiveTaskService.find(new TaskSearchEntity(null, List.of(TaskStatus.DONE)))).thenReturn(Flux.just(
+                new TaskEntity(1L, "task1", null, TaskStatus.DONE),
+                new TaskEntity(2L, "task2", "description2", TaskStatus.DONE)));
+
+        var result = mockMvc.perform(get("/api/reactive/tasks").param("status", "DONE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"id\":1,\"summary\":\"task1\",\"description\":null,\"status\":\"DONE\"}\n"
+                                + "{\"id\":2,\"summary\":\"task2\",\"description\":\"description2\",\"status\":\"DONE\"}\n"));
+    }
+
+    @Test
+    @DisplayName("詳細: 存在しないタスクは404を返すこと")
+    void testShowNotFound() throws Exception {
+        when(reactiveTaskService.findById(9L)).thenReturn(Mono.empty());
+
+        var result = mockMvc.perform(get("/api/reactive/tasks/9"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.todo.controller.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskPage;
+import com.example.todo.service.task.TaskIdempotencyStore;
+import com.example.todo.service.task.TaskService;
+import com.example.todo.service.task.TaskStatus;
+
+@WebMvcTest(TaskApiController.class)
+@Import(TaskIdempotencyStore.class)
+public class TaskApiControllerTest {
+    // MockMVCをインジェクションする
+    @Autowired
+    private MockMvc mockMvc;
+
+    // テスト対象クラスの呼び出し先（モック化対象）
+    @MockBean
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("一覧: 検索結果と弱いETagを返し、同じETagでの再検証は検索せずに304を返すこと")
+    void testListNotModified() throws Exception {
+        when(taskService.searchVersion()).thenReturn("v.1");
+        when(taskService.findPage(any(), any())).thenReturn(new TaskPage<>(
+                List.of(new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO)), false, true, 3L));
+
+        var etag = mockMvc.perform(get("/api/tasks").param("status", "TODO").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.totalCount").value(3))
+                .andExpect(jsonPath("$.nextUrl").value("/api/tasks?status=TODO&after=1&size=1"))
+                .andExpect(jsonPath("$.previousUrl").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks").param("status", "TODO").param("size", "1")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, times(1)).findPage(any(), any());
+
+        // 書き込みでバージョンが変われば再検索する
+        when(taskService.searchVersion()).thenReturn("v.2");
+        mockMvc.perform(get("/api/tasks").param("status", "TODO").param("size", "1")
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("一覧のETag: hashCodeが衝突する条件でも異なり、正規化すると同じ条件は同じになること")
+    void testListETag() {
+        // "Aa" と "BB" は String.hashCode が同じ
+        assertNotEquals(TaskETags.weak("v.1", new TaskSearchForm("Aa", null, null, null, null, null)),
+                TaskETags.weak("v.1", new TaskSearchForm("BB", null, null, null, null, null)));
+        assertNotEquals(TaskETags.weak("v.1", new TaskSearchForm(null, null, 1L, null, null, null)),
+                TaskETags.weak("v.1", new TaskSearchForm(null, null, null, 1L, null, null)));
+        assertEquals(TaskETags.weak("v.1", new TaskSearchForm(" ", List.of("TODO", "DONE", "TODO"), null, null, 20, true)),
+                TaskETags.weak("v.1", new TaskSearchForm(null, List.of("DONE", "TODO"), null, null, 20, null)));
+    }
+
+    @Test
+    @DisplayName("詳細: 内容から計算した強いETagで304を返し、内容が変われば200を返すこと")
+    void testShowNotModified() throws Exception {
+        var task = new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO);
+        when(taskService.findById(1L)).thenReturn(Optional.of(task));
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", TaskETags.strong(task)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        when(taskService.findById(1L)).thenReturn(Optional.of(new TaskEntity(1L, "タスク1", "説明1", TaskStatus.DONE)));
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", TaskETags.strong(task)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"));
+    }
+
+    @Test
+    @DisplayName("詳細: 内容が同じでもバージョンが変われば200と新しいバージョンを返すこと")
+    void testShowVersionChanged() throws Exception {
+        var task = new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO, 1L);
+        when(taskService.findById(1L)).thenReturn(Optional.of(new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO, 3L)));
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", TaskETags.strong(task)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    @DisplayName("詳細: 存在しないタスクは404を返すこと")
+    void testShowNotFound() throws Exception {
+        when(taskService.findById(9L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/tasks/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("作成: 201とLocationヘッダ、作成された行のバージョンを返すこと")
+    void testCreate() throws Exception {
+        when(taskService.create(any(TaskEntity.class))).thenReturn(5L);
+
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"summary": "タスク5", "description": "説明5", "status": "TODO", "version": 3}
+                        """))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/tasks/5"))
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.version").value(0));
+
+        verify(taskService).create(new TaskEntity(null, "タスク5", "説明5", TaskStatus.TODO));
+    }
+
+    @Test
+    @DisplayName("作成: 入力エラーは400を返すこと")
+    void testCreateInvalid() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"summary": "", "status": "UNKNOWN"}
+                        """))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).create(any());
+    }
+
+    @Test
+    @DisplayName("作成: 同じIdempotency-Keyでの再送は登録せずに同じレスポンスを返し、内容が異なれば422を返すこと")
+    void testCreateIdempotent() throws Exception {
+        when(taskService.create(any(TaskEntity.class))).thenReturn(6L, 7L);
+        var body = """
+                {"summary": "タスク6", "description": "説明6", "status": "TODO"}
+                """;
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .header("Idempotency-Key", "create-6")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Location", "http://localhost/api/tasks/6"));
+        }
+        verify(taskService, times(1)).create(any(TaskEntity.class));
+
+        mockMvc.perform(post("/api/tasks")
+                .header("Idempotency-Key", "create-6")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"summary": "別のタスク", "status": "TODO"}
+                        """))
+                .andExpect(status().isUnprocessableEntity());
+        verify(taskService, times(1)).create(any(TaskEntity.class));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.todo.controller.task;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todo.service.task.TaskConflictException;
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskIdempotencyStore;
+import com.example.todo.service.task.TaskService;
+import com.example.todo.service.task.TaskStatus;
+
+@WebMvcTest(TaskBulkController.class)
+@Import(TaskIdempotencyStore.class)
+public class TaskBulkControllerTest {
+    // MockMVCをインジェクションする
+    @Autowired
+    private MockMvc mockMvc;
+
+    // テスト対象クラスの呼び出し先（モック化対象）
+    @MockBean
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("一括作成: 採番されたIDがリクエストと同じ順で返ること")
+    void testBulkCreate() throws Exception {
+        when(taskService.createAll(anyList())).thenReturn(List.of(3L, 4L));
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"tasks": [
+                          {"summary": "タスク1", "description": "説明1", "status": "TODO"},
+                          {"summary": "タスク2", "description": null, "status": "DONE"}
+                        ]}
+                        """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.ids[0]").value(3))
+                .andExpect(jsonPath("$.ids[1]").value(4))
+                .andExpect(jsonPath("$.count").value(2));
+
+        verify(taskService).createAll(List.of(
+                new TaskEntity(null, "タスク1", "説明1", TaskStatus.TODO),
+                new TaskEntity(null, "タスク2", null, TaskStatus.DONE)));
+    }
+
+    @Test
+    @DisplayName("一括作成のバリデーションエラー: 1件でも不正な行があれば400になり登録しないこと")
+    void testBulkCreateValidationError() throws Exception {
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"tasks": [
+                          {"summary": "タスク1", "description": "説明1", "status": "TODO"},
+                          {"summary": "", "description": "説明2", "status": "UNKNOWN"}
+                        ]}
+                        """))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).createAll(anyList());
+    }
+
+    @Test
+    @DisplayName("一括更新・一括削除: 処理件数が返ること")
+    void testBulkUpdateAndDelete() throws Exception {
+        when(taskService.updateAll(anyList())).thenReturn(1);
+        when(taskService.deleteAll(anyCollection())).thenReturn(2);
+
+        mockMvc.perform(put("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"tasks": [
+                          {"id": 1, "task": {"summary": "更新", "description": "説明", "status": "DOING"}}
+                        ]}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+
+        mockMvc.perform(delete("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"ids": [1, 2]}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+
+        verify(taskService).updateAll(List.of(new TaskEntity(1L, "更新", "説明", TaskStatus.DOING)));
+        verify(taskService).deleteAll(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("一括更新の競合: バージョンを指定した行が他の更新と競合していれば409になること")
+    void testBulkUpdateConflict() throws Exception {
+        when(taskService.updateAll(anyList())).thenThrow(new TaskConflictException(1L, null));
+
+        mockMvc.perform(put("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"tasks": [
+                          {"id": 1, "task": {"summary": "更新", "description": "説明", "status": "DOING", "version": 3}}
+                        ]}
+                        """))
+                .andExpect(status().isConflict());
+
+        verify(taskService).updateAll(List.of(new TaskEntity(1L, "更新", "説明", TaskStatus.DOING, 3L)));
+    }
+}
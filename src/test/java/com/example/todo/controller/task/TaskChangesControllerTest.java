@@ -0,0 +1,59 @@
+package com.example.todo.controller.task;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todo.service.task.TaskChange;
+import com.example.todo.service.task.TaskChanges;
+import com.example.todo.service.task.TaskService;
+import com.example.todo.service.task.TaskStatus;
+
+@WebMvcTest(TaskChangesController.class)
+public class TaskChangesControllerTest {
+    // MockMVCをインジェクションする
+    @Autowired
+    private MockMvc mockMvc;
+
+    // テスト対象クラスの呼び出し先（モック化対象）
+    @MockBean
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("変更フィード: 作成・更新されたタスクと削除されたIDが分けて返り、nextが次回のsinceになること")
+    void testChanges() throws Exception {
+        var now = OffsetDateTime.now();
+        when(taskService.findChanges(5L, 2)).thenReturn(new TaskChanges(List.of(
+                new TaskChange(1L, "タスク1", "説明1", TaskStatus.DOING, 0L, 6L, now, false),
+                new TaskChange(2L, null, null, null, null, 7L, now, true)), 7L, true));
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", "5").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].id").value(1))
+                .andExpect(jsonPath("$.changed[0].status").value("DOING"))
+                .andExpect(jsonPath("$.changed.length()").value(1))
+                .andExpect(jsonPath("$.deleted[0]").value(2))
+                .andExpect(jsonPath("$.next").value(7))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    @DisplayName("変更フィード: sinceが負の場合は400を返すこと")
+    void testChangesNegativeSince() throws Exception {
+        mockMvc.perform(get("/api/tasks/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).findChanges(anyLong(), any());
+    }
+}
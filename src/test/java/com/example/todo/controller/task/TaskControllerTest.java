@@ -1,25 +1,35 @@
 package com.example.todo.controller.task;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.example.todo.service.task.TaskConflictException;
 import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskPage;
+import com.example.todo.service.task.TaskPageRequest;
+import com.example.todo.service.task.TaskIdempotencyStore;
 import com.example.todo.service.task.TaskService;
 import com.example.todo.service.task.TaskStatus;
+import com.example.todo.service.task.TaskSummaryEntity;
 
 @WebMvcTest(TaskController.class)
+@Import(TaskIdempotencyStore.class)
 public class TaskControllerTest {
     // MockMVCをインジェクションする
     @Autowired
@@ -33,11 +43,11 @@ public class TaskControllerTest {
     @DisplayName("list画面への遷移")
     void testListRedirect() throws Exception {
         // モック化されたTaskServiceの振る舞いを設定する
-        TaskEntity task1 = new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO);
-        TaskEntity task2 = new TaskEntity(2L, "タスク2", "説明2", TaskStatus.DOING);
-        List<TaskEntity> tasks = Arrays.asList(task1, task2);
+        TaskSummaryEntity task1 = new TaskSummaryEntity(1L, "タスク1", TaskStatus.TODO);
+        TaskSummaryEntity task2 = new TaskSummaryEntity(2L, "タスク2", TaskStatus.DOING);
+        List<TaskSummaryEntity> tasks = Arrays.asList(task1, task2);
 
-        when(taskService.find(any())).thenReturn(tasks);
+        when(taskService.findSummaryPage(any(), any())).thenReturn(new TaskPage<>(tasks, false, false, 2L));
 
         mockMvc.perform(get("/tasks"))
                 .andExpect(status().isOk())
@@ -46,6 +56,49 @@ public class TaskControllerTest {
                 .andExpect(model().attributeExists("searchDTO")); // searchDTOの存在も確認
     }
 
+    @Test
+    @DisplayName("list画面のページング: 検索条件を引き継いだ次ページのリンクが生成される")
+    void testListPaging() throws Exception {
+        TaskSummaryEntity task1 = new TaskSummaryEntity(1L, "タスク1", TaskStatus.TODO);
+        TaskSummaryEntity task2 = new TaskSummaryEntity(2L, "タスク2", TaskStatus.TODO);
+
+        when(taskService.findSummaryPage(any(), any())).thenReturn(new TaskPage<>(List.of(task1, task2), false, true, null));
+
+        mockMvc.perform(get("/tasks")
+                .param("status", "TODO")
+                .param("size", "2")
+                .param("count", "false"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("tasks/list"))
+                .andExpect(model().attribute("page",
+                        new TaskPageDTO(null, null, "/tasks?status=TODO&after=2&size=2&count=false",
+                                "/tasks/all?status=TODO")));
+
+        // 件数取得をオプトアウトした条件がサービスに渡されること
+        verify(taskService).findSummaryPage(any(), eq(new TaskPageRequest(null, null, 2, false)));
+    }
+
+    @Test
+    @DisplayName("全件表示: カーソルから読んだタスクが一覧に描画される")
+    void testListAll() throws Exception {
+        TaskSummaryEntity task1 = new TaskSummaryEntity(1L, "タスク1", TaskStatus.TODO);
+        TaskSummaryEntity task2 = new TaskSummaryEntity(2L, "タスク2", TaskStatus.DOING);
+
+        // scan()に渡されたconsumerへタスクを1件ずつ流す
+        doAnswer(invocation -> {
+            Consumer<Iterator<TaskSummaryEntity>> consumer = invocation.getArgument(1);
+            consumer.accept(List.of(task1, task2).iterator());
+            return null;
+        }).when(taskService).scan(any(), any());
+
+        mockMvc.perform(get("/tasks/all"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("タスク1")))
+                .andExpect(content().string(containsString("タスク2")));
+
+        verify(taskService, never()).findSummaryPage(any(), any());
+    }
+
     @Test
     @DisplayName("detail画面への遷移")
     void testShowDetailRedirect() throws Exception {
@@ -71,8 +124,8 @@ public class TaskControllerTest {
     @Test
     @DisplayName("新規タスクの作成")
     void testCreateTask() throws Exception {
-        // doNothing()でcreateメソッドをモック化（voidメソッド）
-        doNothing().when(taskService).create(any(TaskEntity.class));
+        // createメソッドをモック化（採番されたIDを返す）
+        when(taskService.create(any(TaskEntity.class))).thenReturn(1L);
 
         mockMvc.perform(post("/tasks")
                 .param("summary", "新しいタスク")
@@ -85,9 +138,10 @@ public class TaskControllerTest {
         verify(taskService, times(1)).create(any(TaskEntity.class));
 
         // 2. リダイレクト先（一覧画面）の表示を確認
-        TaskEntity createdTask = new TaskEntity(1L, "新しいタスク", "タスクの説明", TaskStatus.TODO);
+        TaskSummaryEntity createdTask = new TaskSummaryEntity(1L, "新しいタスク", TaskStatus.TODO);
 
-        when(taskService.find(any())).thenReturn(Arrays.asList(createdTask));
+        when(taskService.findSummaryPage(any(), any()))
+                .thenReturn(new TaskPage<>(Arrays.asList(createdTask), false, false, 1L));
 
         mockMvc.perform(get("/tasks"))
                 .andExpect(status().isOk())
@@ -124,7 +178,7 @@ public class TaskControllerTest {
     @Test
     @DisplayName("タスク更新の実行")
     void testUpdateTask() throws Exception {
-        doNothing().when(taskService).update(any(TaskEntity.class));
+        when(taskService.update(any(TaskEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         mockMvc.perform(put("/tasks/1")
                 .param("summary", "更新されたタスク")
@@ -145,6 +199,37 @@ public class TaskControllerTest {
                 .andExpect(model().attributeExists("task"));
     }
 
+    @Test
+    @DisplayName("タスク更新の競合: 409で編集画面に戻り、入力内容を残したまま最新のバージョンと他の更新内容が表示される")
+    void testUpdateTaskConflict() throws Exception {
+        TaskEntity current = new TaskEntity(1L, "他の更新", "他の説明", TaskStatus.DOING, 4L);
+        when(taskService.update(any(TaskEntity.class))).thenThrow(new TaskConflictException(1L, current));
+
+        mockMvc.perform(put("/tasks/1")
+                .param("summary", "自分の更新")
+                .param("description", "自分の説明")
+                .param("status", "DONE")
+                .param("version", "3"))
+                .andExpect(status().isConflict())
+                .andExpect(view().name("tasks/form"))
+                .andExpect(model().attribute("taskForm", new TaskForm("自分の更新", "自分の説明", "DONE", 4L)))
+                .andExpect(model().attribute("conflict", TaskDTO.toDTO(current)));
+
+        verify(taskService).update(new TaskEntity(1L, "自分の更新", "自分の説明", TaskStatus.DONE, 3L));
+    }
+
+    @Test
+    @DisplayName("タスク更新の競合: 他のユーザーに削除されていた場合は404になる")
+    void testUpdateTaskDeleted() throws Exception {
+        when(taskService.update(any(TaskEntity.class))).thenThrow(new TaskConflictException(1L, null));
+
+        mockMvc.perform(put("/tasks/1")
+                .param("summary", "自分の更新")
+                .param("status", "DONE")
+                .param("version", "3"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("タスク更新時のバリデーションエラー")
     void testUpdateTaskValidationError() throws Exception {
@@ -168,7 +253,7 @@ public class TaskControllerTest {
         verify(taskService, times(1)).delete(1L);
 
         // 2. リダイレクト先（一覧画面）の表示を確認
-        when(taskService.find(any())).thenReturn(List.of());
+        when(taskService.findSummaryPage(any(), any())).thenReturn(new TaskPage<>(List.of(), false, false, 0L));
         mockMvc.perform(get("/tasks"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("tasks/list"))
@@ -0,0 +1,128 @@
+package com.example.todo.controller.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.todo.service.task.TaskChangedEvent;
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskEventBuffer;
+import com.example.todo.service.task.TaskEventProperties;
+import com.example.todo.service.task.TaskStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * TaskEventSubscriptionの単体テスト
+ */
+public class TaskEventSubscriptionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TaskEventBuffer buffer = new TaskEventBuffer(
+            new TaskEventProperties(4, 2, 1, Duration.ofMinutes(1), Duration.ofSeconds(15), Duration.ofSeconds(10)));
+
+    @Test
+    @DisplayName("配信: 通知を受けるとバッファの続きを送信し、送信済みのイベントは再送しないこと")
+    void testDeliver() throws Exception {
+        var emitter = mock(SseEmitter.class);
+        var subscription = new TaskEventSubscription(emitter, buffer, Runnable::run, 2,
+                meterRegistry.counter("resets"), buffer.head());
+        buffer.addListener(subscription::signal);
+
+        buffer.onTaskChanged(TaskChangedEvent.created(1L, new TaskEntity(null, "タスク1", "説明1", TaskStatus.TODO)));
+        buffer.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(0, meterRegistry.counter("resets").count());
+    }
+
+    @Test
+    @DisplayName("追い越し: 送信が遅れてバッファに追い越された購読者にはresetを送り、最新の位置から配信を続けること")
+    void testReset() throws Exception {
+        var emitter = mock(SseEmitter.class);
+        var subscription = new TaskEventSubscription(emitter, buffer, Runnable::run, 2,
+                meterRegistry.counter("resets"), buffer.head());
+
+        // 通知を受けないまま容量を超えて書き込まれる
+        for (long id = 1; id <= 5; id++) {
+            buffer.onTaskChanged(TaskChangedEvent.deleted(id));
+        }
+        subscription.signal();
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(1, meterRegistry.counter("resets").count());
+
+        buffer.onTaskChanged(TaskChangedEvent.deleted(6L));
+        subscription.signal();
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("停止したクライアント: 送信が止まった購読者がいても他の購読者には配信され、送信のタイムアウトで切断されること")
+    void testStalledClient() throws Exception {
+        // 常駐スレッドは 1 本だけ
+        var dispatcher = TaskEventStreamController.newDispatcher(1);
+        try {
+            var sending = new CountDownLatch(1);
+            var stalled = mock(SseEmitter.class);
+            doAnswer(invocation -> {
+                sending.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    throw new IOException("interrupted");
+                }
+                return null;
+            }).when(stalled).send(any(SseEmitter.SseEventBuilder.class));
+            var delivered = new CountDownLatch(1);
+            var redelivered = new CountDownLatch(2);
+            var interruptedWhileSending = new AtomicBoolean();
+            var healthy = mock(SseEmitter.class);
+            doAnswer(invocation -> {
+                interruptedWhileSending.compareAndSet(false, Thread.currentThread().isInterrupted());
+                delivered.countDown();
+                redelivered.countDown();
+                return null;
+            }).when(healthy).send(any(SseEmitter.SseEventBuilder.class));
+
+            var stalledSubscription = new TaskEventSubscription(stalled, buffer, dispatcher, 2,
+                    meterRegistry.counter("resets"), buffer.head());
+            var healthySubscription = new TaskEventSubscription(healthy, buffer, dispatcher, 2,
+                    meterRegistry.counter("resets"), buffer.head());
+            buffer.addListener(stalledSubscription::signal);
+            buffer.addListener(healthySubscription::signal);
+
+            buffer.onTaskChanged(TaskChangedEvent.deleted(1L));
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            assertTrue(delivered.await(5, TimeUnit.SECONDS), "止まった購読者がいても配信されるはず");
+
+            long timeout = TimeUnit.SECONDS.toNanos(10);
+            long later = System.nanoTime() + TimeUnit.SECONDS.toNanos(11);
+            assertFalse(stalledSubscription.expire(System.nanoTime(), timeout));
+            assertFalse(healthySubscription.expire(later, timeout), "送信中でなければ切断しない");
+            assertTrue(stalledSubscription.expire(later, timeout));
+
+            // 割り込まれた送信スレッドが emitter を完了させる
+            verify(stalled, timeout(5000)).completeWithError(any(IOException.class));
+            verify(healthy, never()).completeWithError(any());
+
+            // 割り込まれたスレッドで続けて送信しても、割り込みの状態が残っていないこと
+            buffer.onTaskChanged(TaskChangedEvent.deleted(2L));
+            assertTrue(redelivered.await(5, TimeUnit.SECONDS));
+            assertFalse(interruptedWhileSending.get(), "他の購読者の送信に割り込みが残ってはならない");
+            verify(healthy, never()).completeWithError(any());
+        } finally {
+            dispatcher.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.todo.controller.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskService;
+import com.example.todo.service.task.TaskStatus;
+
+@WebMvcTest(TaskExportController.class)
+@EnableConfigurationProperties(TaskExportProperties.class)
+@TestPropertySource(properties = {"todo.task.export.chunk-size=2", "todo.task.export.timeout=45m"})
+public class TaskExportControllerTest {
+    // MockMVCをインジェクションする
+    @Autowired
+    private MockMvc mockMvc;
+
+    // テスト対象クラスの呼び出し先（モック化対象）
+    @MockBean
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("CSVエクスポート: チャンクごとに続きを読み、必要なフィールドをクォートして出力すること")
+    void testExportCsv() throws Exception {
+        var condition = new TaskSearchEntity(null, List.of(TaskStatus.TODO));
+        when(taskService.findAfter(condition, null, 2)).thenReturn(List.of(
+                new TaskEntity(1L, "タスク1", "カンマ, を含む", TaskStatus.TODO),
+                new TaskEntity(3L, "\"タスク3\"", null, TaskStatus.TODO)));
+        when(taskService.findAfter(condition, 3L, 2)).thenReturn(List.of(
+                new TaskEntity(5L, "タスク5", "説明5", TaskStatus.TODO)));
+
+        var result = mockMvc.perform(get("/api/tasks/export").param("status", "TODO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+                .andExpect(content().string("""
+                        id,summary,description,status\r
+                        1,タスク1,"カンマ, を含む",TODO\r
+                        3,\"\"\"タスク3\"\"\",,TODO\r
+                        5,タスク5,説明5,TODO\r
+                        """));
+
+        // 最後のチャンクが chunk-size に満たなければそれ以上読まない
+        verify(taskService, times(2)).findAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("NDJSONエクスポート: 1行に1タスクのJSONを出力すること")
+    void testExportNdjson() throws Exception {
+        var condition = new TaskSearchEntity(null, List.of());
+        when(taskService.findAfter(condition, null, 2)).thenReturn(List.of(
+                new TaskEntity(1L, "task1", "description1", TaskStatus.DONE)));
+
+        var result = mockMvc.perform(get("/api/tasks/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"id\":1,\"summary\":\"task1\",\"description\":\"description1\",\"status\":\"DONE\"}\n"));
+    }
+
+    @Test
+    @DisplayName("エクスポートのレスポンスにだけ todo.task.export.timeout のタイムアウトを適用すること")
+    void testExportTimeout() throws Exception {
+        var result = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofMinutes(45).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
+
+    @Test
+    @DisplayName("未対応の形式は400を返すこと")
+    void testExportUnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+}
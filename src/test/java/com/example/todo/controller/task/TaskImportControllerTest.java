@@ -0,0 +1,133 @@
+package com.example.todo.controller.task;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskService;
+import com.example.todo.service.task.TaskStatus;
+
+@WebMvcTest(TaskImportController.class)
+@EnableConfigurationProperties(TaskImportProperties.class)
+public class TaskImportControllerTest {
+    // MockMVCをインジェクションする
+    @Autowired
+    private MockMvc mockMvc;
+
+    // テスト対象クラスの呼び出し先（モック化対象）
+    @MockBean
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("CSV取り込み: 正しい行だけが登録され、不正な行は行番号付きで報告されること")
+    void testImportCsv() throws Exception {
+        when(taskService.createAll(anyList())).thenAnswer(invocation -> {
+            List<TaskEntity> tasks = invocation.getArgument(0);
+            return tasks.stream().map(task -> 1L).toList();
+        });
+
+        String csv = """
+                status,summary,description
+                TODO,タスク1,"カンマ, と
+                改行を含む説明"
+                UNKNOWN,タスク2,説明2
+                DONE,\"\"\"タスク3\"\"\",
+                """;
+
+        mockMvc.perform(post("/api/tasks/import")
+                .contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+
+        verify(taskService).createAll(List.of(
+                new TaskEntity(null, "タスク1", "カンマ, と\n改行を含む説明", TaskStatus.TODO),
+                new TaskEntity(null, "\"タスク3\"", "", TaskStatus.DONE)));
+    }
+
+    @Test
+    @DisplayName("CSV取り込み: 先頭にBOMが付いていてもヘッダを認識すること")
+    void testImportCsvWithBom() throws Exception {
+        when(taskService.createAll(anyList())).thenReturn(List.of(1L));
+
+        mockMvc.perform(post("/api/tasks/import")
+                .contentType("text/csv")
+                .content("\uFEFFsummary,status\r\nタスク1,TODO\r\n".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        verify(taskService).createAll(List.of(new TaskEntity(null, "タスク1", null, TaskStatus.TODO)));
+    }
+
+    @Test
+    @DisplayName("CSV取り込み: 必須のヘッダがない場合は400になること")
+    void testImportCsvWithoutHeader() throws Exception {
+        mockMvc.perform(post("/api/tasks/import")
+                .contentType("text/csv")
+                .content("タスク1,説明1,TODO\n".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).createAll(anyList());
+    }
+
+    @Test
+    @DisplayName("NDJSON取り込み: 解析できない行と検証エラーの行が報告されること")
+    void testImportNdjson() throws Exception {
+        when(taskService.createAll(anyList())).thenReturn(List.of(1L));
+
+        String ndjson = """
+                {"summary": "タスク1", "description": "説明1", "status": "DOING"}
+                {"summary": "タスク2",
+                {"summary": "", "status": "TODO"}
+                """;
+
+        mockMvc.perform(post("/api/tasks/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[1].row").value(3));
+
+        verify(taskService).createAll(List.of(new TaskEntity(null, "タスク1", "説明1", TaskStatus.DOING)));
+    }
+
+    @Test
+    @DisplayName("NDJSON取り込み: 長すぎる行はその行だけがエラーになり、続く行は取り込まれること")
+    void testImportNdjsonLineTooLong() throws Exception {
+        when(taskService.createAll(anyList())).thenReturn(List.of(1L));
+
+        String ndjson = "{\"summary\": \"" + "あ".repeat(2 * 1024 * 1024) + "\", \"status\": \"TODO\"}\n"
+                + "{\"summary\": \"タスク2\", \"status\": \"DONE\"}\n";
+
+        mockMvc.perform(post("/api/tasks/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(1))
+                .andExpect(jsonPath("$.errors[0].messages[0]").value("行が長すぎます"));
+
+        verify(taskService).createAll(List.of(new TaskEntity(null, "タスク2", null, TaskStatus.DONE)));
+    }
+}
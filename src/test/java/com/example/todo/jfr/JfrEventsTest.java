@@ -0,0 +1,159 @@
+package com.example.todo.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskStatus;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/*
+ * JFRカスタムイベントの単体テスト
+ */
+public class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("マッパー: 記録中はステートメントIDと行数を持つイベントを出すこと")
+    void testMapperEvent() throws Throwable {
+        var executor = mock(Executor.class);
+        when(executor.query(any(), any(), any(), any())).thenReturn(List.of(1, 2));
+        var mappedStatement = new MappedStatement.Builder(new Configuration(),
+                "com.example.todo.repository.task.TaskRepository.select", (SqlSource) parameter -> null, SqlCommandType.SELECT).build();
+        var method = Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+        var invocation = new Invocation(executor, method, new Object[] {mappedStatement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER});
+
+        var file = tempDir.resolve("mapper.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(MapperStatementEvent.class);
+            recording.start();
+            new MapperEventInterceptor().intercept(invocation);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.todo.MapperStatement"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("com.example.todo.repository.task.TaskRepository.select", events.get(0).getString("statement"));
+        assertEquals("SELECT", events.get(0).getString("command"));
+        assertEquals(2, events.get(0).getLong("rows"));
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("コントローラー: 例外を投げたハンドラーと非同期レスポンスのハンドラーも記録すること")
+    void testControllerEventOnErrorAndAsync() throws Exception {
+        var interceptor = new ControllerEventInterceptor();
+        var handler = new HandlerMethod(this, JfrEventsTest.class.getDeclaredMethod("testRows"));
+
+        var file = tempDir.resolve("controller.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(ControllerHandlerEvent.class);
+            recording.start();
+
+            // 例外を投げたハンドラーでは postHandle が呼ばれない
+            var failed = new MockHttpServletRequest("POST", "/tasks");
+            var failedResponse = new MockHttpServletResponse();
+            interceptor.preHandle(failed, failedResponse, handler);
+            failedResponse.setStatus(500);
+            interceptor.afterCompletion(failed, failedResponse, handler, new IllegalStateException());
+
+            // SSE などの非同期レスポンスでは postHandle・afterCompletion の代わりに afterConcurrentHandlingStarted が呼ばれる
+            var streaming = new MockHttpServletRequest("GET", "/api/tasks/events");
+            interceptor.preHandle(streaming, new MockHttpServletResponse(), handler);
+            interceptor.afterConcurrentHandlingStarted(streaming, new MockHttpServletResponse(), handler);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.todo.ControllerHandler"))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .toList();
+        assertEquals(2, events.size());
+        RecordedEvent error = events.get(0);
+        assertEquals("JfrEventsTest.testRows", error.getString("handler"));
+        assertEquals(500, error.getInt("status"));
+        assertEquals(IllegalStateException.class.getName(), error.getString("exception"));
+        assertFalse(error.getBoolean("async"));
+        RecordedEvent async = events.get(1);
+        assertEquals("/api/tasks/events", async.getString("uri"));
+        assertTrue(async.getBoolean("async"));
+        assertNull(async.getString("exception"));
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("コントローラー: 静的リソースのリクエストは例外にならず、イベントも出さないこと")
+    void testControllerEventOnResource() throws Exception {
+        var interceptor = new ControllerEventInterceptor();
+        var handler = new ResourceHttpRequestHandler();
+
+        var file = tempDir.resolve("resource.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(ControllerHandlerEvent.class);
+            recording.enable(ViewRenderEvent.class);
+            recording.start();
+
+            var request = new MockHttpServletRequest("GET", "/webjars/bootstrap/5.2.3/css/bootstrap.min.css");
+            var response = new MockHttpServletResponse();
+            assertTrue(interceptor.preHandle(request, response, handler));
+            interceptor.postHandle(request, response, handler, null);
+            assertDoesNotThrow(() -> interceptor.afterCompletion(request, response, handler, null));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertTrue(RecordingFile.readAllEvents(file).stream()
+                .noneMatch(event -> event.getEventType().getName().startsWith("com.example.todo.")));
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("サービス: 検索条件の形は値を含まないこと")
+    void testCriteriaShape() {
+        assertEquals("summary+status[2]", ServiceEventAspect.criteria(new Object[] {
+                new TaskSearchEntity("秘密", List.of(TaskStatus.TODO, TaskStatus.DONE))}));
+        assertEquals("all", ServiceEventAspect.criteria(new Object[] {new TaskSearchEntity(" ", List.of())}));
+        assertNull(ServiceEventAspect.criteria(new Object[] {1L}));
+    }
+
+    @Test
+    @DisplayName("サービス: 戻り値から行数を数えること")
+    void testRows() {
+        assertEquals(3, ServiceEventAspect.rows(List.of(1, 2, 3)));
+        assertEquals(0, ServiceEventAspect.rows(Optional.empty()));
+        assertEquals(-1, ServiceEventAspect.rows(null));
+    }
+}
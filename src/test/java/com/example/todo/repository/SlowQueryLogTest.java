@@ -0,0 +1,94 @@
+package com.example.todo.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import com.example.todo.repository.task.TaskRepository;
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskSearchEntity;
+import com.example.todo.service.task.TaskStatus;
+
+/*
+ * しきい値を0にしてすべてのステートメントをスロークエリとして記録し、実行計画が取得されることを確認する
+ */
+@MybatisTest
+@TestPropertySource(properties = {
+        "todo.mybatis.slow-query.threshold=0ms",
+        "todo.mybatis.slow-query.capacity=2",
+        "todo.mybatis.slow-query.redacted-parameters=description"
+})
+public class SlowQueryLogTest {
+
+    @TestConfiguration
+    @EnableConfigurationProperties(SlowQueryProperties.class)
+    @Import({SlowQueryLog.class, SlowQueryInterceptor.class})
+    static class Config {
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    @DisplayName("検索: バインドされたSQL・パラメータ・EXPLAIN ANALYZEの実行計画を記録すること")
+    void testSelect() throws Exception {
+        taskRepository.select(new TaskSearchEntity("Spring", List.of(TaskStatus.TODO)));
+
+        var entry = slowQueryLog.entries().get(0);
+        assertEquals("com.example.todo.repository.task.TaskRepository.select", entry.getStatement());
+        assertTrue(entry.getSql().contains("status IN"));
+        assertEquals(List.of("Spring", "TODO"), entry.getParameters());
+        assertTrue(awaitPlan(entry).contains("tasks"), entry.getPlan());
+    }
+
+    @Test
+    @DisplayName("登録: 指定したパラメータを伏せ、実行しないEXPLAINで実行計画を取得すること")
+    void testInsert() throws Exception {
+        int before = taskRepository.select(new TaskSearchEntity(null, List.of())).size();
+        taskRepository.insert(new TaskEntity(null, "タスク", "秘密の説明", TaskStatus.TODO));
+
+        var entry = slowQueryLog.entries().get(0);
+        assertEquals(List.of("タスク", "****", "TODO"), entry.getParameters());
+        assertNotNull(awaitPlan(entry));
+        // EXPLAIN のために INSERT が再実行されていないこと
+        assertEquals(before + 1, taskRepository.select(new TaskSearchEntity(null, List.of())).size());
+    }
+
+    @Test
+    @DisplayName("保持件数を超えたら古いものから捨てること")
+    void testCapacity() {
+        taskRepository.selectById(1);
+        taskRepository.selectById(2);
+        taskRepository.selectById(3);
+
+        var entries = slowQueryLog.entries();
+        assertEquals(2, entries.size());
+        assertEquals(List.of("3"), entries.get(0).getParameters());
+        assertEquals(List.of("2"), entries.get(1).getParameters());
+    }
+
+    private static String awaitPlan(SlowQuery entry) throws InterruptedException {
+        for (int i = 0; i < 50 && entry.getPlan() == null; i++) {
+            Thread.sleep(100);
+        }
+        return entry.getPlan();
+    }
+}
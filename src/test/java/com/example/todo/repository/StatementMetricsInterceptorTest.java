@@ -0,0 +1,98 @@
+package com.example.todo.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * StatementMetricsInterceptorの単体テスト
+ */
+public class StatementMetricsInterceptorTest {
+
+    private static final String SELECT = "com.example.todo.repository.task.TaskRepository.select";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StatementMetricsInterceptor interceptor;
+
+    private Executor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new StatementMetricsInterceptor(meterRegistry);
+        executor = mock(Executor.class);
+    }
+
+    @Test
+    @DisplayName("検索: ステートメントごとに実行時間と行数を記録すること")
+    void testQuery() throws Throwable {
+        when(executor.query(any(), any(), any(), any())).thenReturn(List.of(1, 2, 3));
+
+        interceptor.intercept(query(SELECT));
+        interceptor.intercept(query(SELECT));
+
+        var timer = meterRegistry.get("mybatis.statement").tag("statement", "TaskRepository.select").timer();
+        assertEquals(2, timer.count());
+        var rows = meterRegistry.get("mybatis.statement.rows").tag("statement", "TaskRepository.select").summary();
+        assertEquals(6, rows.totalAmount());
+    }
+
+    @Test
+    @DisplayName("ResultHandler付きの検索: 空のリストが返っても行数は記録せず、実行時間は記録すること")
+    void testQueryWithResultHandler() throws Throwable {
+        when(executor.query(any(), any(), any(), any())).thenReturn(List.of());
+
+        interceptor.intercept(query(SELECT, context -> { }));
+
+        assertEquals(1, meterRegistry.get("mybatis.statement").tag("statement", "TaskRepository.select").timer().count());
+        assertEquals(0, meterRegistry.get("mybatis.statement.rows").tag("statement", "TaskRepository.select").summary().count());
+    }
+
+    @Test
+    @DisplayName("エラー: エラー数を記録して例外をそのまま投げること")
+    void testError() throws Throwable {
+        when(executor.query(any(), any(), any(), any())).thenThrow(new SQLException("boom"));
+
+        assertThrows(SQLException.class, () -> interceptor.intercept(query(SELECT)));
+
+        assertEquals(1, meterRegistry.get("mybatis.statement.errors").tag("statement", "TaskRepository.select").counter().count());
+        assertEquals(1, meterRegistry.get("mybatis.statement").tag("statement", "TaskRepository.select").timer().count());
+    }
+
+    @Test
+    @DisplayName("ステートメントIDからマッパー名とメソッド名を取り出すこと")
+    void testStatementTag() {
+        assertEquals("TaskRepository.select", StatementMetricsInterceptor.statementTag(SELECT));
+        assertEquals("select", StatementMetricsInterceptor.statementTag("select"));
+    }
+
+    private Invocation query(String statementId) throws NoSuchMethodException {
+        return query(statementId, Executor.NO_RESULT_HANDLER);
+    }
+
+    private Invocation query(String statementId, ResultHandler<?> resultHandler) throws NoSuchMethodException {
+        var configuration = new Configuration();
+        SqlSource sqlSource = parameter -> null;
+        var mappedStatement = new MappedStatement.Builder(configuration, statementId, sqlSource, SqlCommandType.SELECT).build();
+        var method = Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+        return new Invocation(executor, method, new Object[] {mappedStatement, null, RowBounds.DEFAULT, resultHandler});
+    }
+}
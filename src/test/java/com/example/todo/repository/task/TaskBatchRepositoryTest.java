@@ -0,0 +1,100 @@
+package com.example.todo.repository.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+
+import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskStatus;
+
+/**
+ * TaskBatchRepositoryを対象にしたテストクラス
+ *
+ * BATCH エグゼキュータのステートメントを H2 に対して実行する (各テスト後にロールバック)。
+ * 同じトランザクションで SIMPLE エグゼキュータの TaskRepository は使えないので、結果の確認も TaskBatchRepository で行う。
+ *
+ * テストデータ (data.sql):
+ *   1. ID=1, "Spring Boot を学ぶ", DONE
+ *   2. ID=2, "Spring Security を学ぶ", TODO
+ */
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskBatchRepository.class)
+@EnableConfigurationProperties(TaskBatchProperties.class)
+@DisplayName("TaskBatchRepositoryを対象にしたテストクラス")
+public class TaskBatchRepositoryTest {
+
+    // flush-size (500) をまたぐ件数
+    private static final int ROWS = 1200;
+
+    @Autowired
+    TaskBatchRepository taskBatchRepository;
+
+    @Test
+    @DisplayName("一括登録: 採番されたIDが引数と同じ順で返ること")
+    void test_InsertAll() {
+        var newEntities = IntStream.range(0, ROWS)
+                .mapToObj(i -> new TaskEntity(null, "一括タスク" + i, null, TaskStatus.TODO))
+                .toList();
+
+        List<Long> ids = taskBatchRepository.insertAll(newEntities);
+
+        assertEquals(ROWS, ids.size(), "登録した件数分のIDが返るはず");
+        List<TaskEntity> inserted = taskBatchRepository.selectByIds(ids);
+        assertEquals(ROWS, inserted.size(), "返ったIDで全件読めるはず");
+        for (int i = 0; i < ROWS; i++) {
+            // selectByIds は id 順なので、引数の順に採番されていれば i 番目が一致する
+            assertEquals(ids.get(i), inserted.get(i).id());
+            assertEquals("一括タスク" + i, inserted.get(i).summary(), i + "件目のIDが別の行を指している");
+        }
+    }
+
+    @Test
+    @DisplayName("一括更新: 更新件数が引数と同じ順で返り、存在しないIDとバージョンが古い行は0になること")
+    void test_UpdateAll() {
+        List<Integer> counts = taskBatchRepository.updateAll(List.of(
+                new TaskEntity(1L, "更新1", null, TaskStatus.DOING),
+                new TaskEntity(99L, "存在しない", null, TaskStatus.DOING),
+                new TaskEntity(2L, "古いバージョン", null, TaskStatus.DOING, 5L),
+                new TaskEntity(2L, "更新2", null, TaskStatus.DONE, 0L)));
+
+        assertEquals(List.of(1, 0, 0, 1), counts);
+        assertEquals(List.of(
+                new TaskEntity(1L, "更新1", null, TaskStatus.DOING, 1L),
+                new TaskEntity(2L, "更新2", null, TaskStatus.DONE, 1L)),
+                taskBatchRepository.selectByIds(List.of(1L, 2L)));
+    }
+
+    @Test
+    @DisplayName("一括更新(flush-sizeをまたぐ件数): すべての行の更新件数が返ること")
+    void test_UpdateAllAcrossFlushes() {
+        var ids = taskBatchRepository.insertAll(IntStream.range(0, ROWS)
+                .mapToObj(i -> new TaskEntity(null, "一括タスク" + i, null, TaskStatus.TODO))
+                .toList());
+
+        List<Integer> counts = taskBatchRepository.updateAll(ids.stream()
+                .map(id -> new TaskEntity(id, "更新", null, TaskStatus.DONE, 0L))
+                .toList());
+
+        assertEquals(ROWS, counts.size());
+        assertTrue(counts.stream().allMatch(count -> count == 1), "すべて1件ずつ更新されるはず");
+    }
+
+    @Test
+    @DisplayName("一括削除: 実際に削除したIDだけが引数と同じ順で返ること")
+    void test_DeleteAll() {
+        List<Long> deleted = taskBatchRepository.deleteAll(List.of(2L, 99L, 1L));
+
+        assertEquals(List.of(2L, 1L), deleted);
+        assertTrue(taskBatchRepository.selectByIds(List.of(1L, 2L)).isEmpty(), "削除した行は読めないはず");
+    }
+}
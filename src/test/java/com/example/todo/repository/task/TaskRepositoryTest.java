@@ -3,6 +3,9 @@ package com.example.todo.repository.task;
 import static org.junit.jupiter.api.Assertions.*;
 import static java.util.Collections.emptyList;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -13,9 +16,12 @@ import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 
+import com.example.todo.service.task.TaskChange;
 import com.example.todo.service.task.TaskEntity;
+import com.example.todo.service.task.TaskPageRequest;
 import com.example.todo.service.task.TaskSearchEntity;
 import com.example.todo.service.task.TaskStatus;
+import com.example.todo.service.task.TaskSummaryEntity;
 
 /**
  * TaskRepositoryを対象にしたテストクラス
@@ -131,6 +137,31 @@ public class TaskRepositoryTest {
                 "サマリーが「Spring Boot を学ぶ」と一致すること");
     }
 
+    /**
+     * ワイルドカードを含むサマリー検索のテスト
+     *
+     * 【テスト目的】
+     * 概要インデックスと同じく、%・_・\ がLIKEのワイルドカードではなく文字として扱われることを検証する。
+     */
+    @Test
+    @DisplayName("サマリー検索で%・_・\\を文字として扱うことをテストする")
+    void test_SelectBySummaryWithWildcards() {
+        taskRepository.insert(new TaskEntity(null, "進捗 100% 完了", null, TaskStatus.TODO));
+        taskRepository.insert(new TaskEntity(null, "進捗 1000 完了", null, TaskStatus.TODO));
+        taskRepository.insert(new TaskEntity(null, "C:\\tmp_dir", null, TaskStatus.TODO));
+
+        List<String> percent = taskRepository.select(new TaskSearchEntity("100%", emptyList())).stream().map(TaskEntity::summary).toList();
+        assertEquals(List.of("進捗 100% 完了"), percent, "%はワイルドカードとして扱わないこと");
+
+        List<String> underscore = taskRepository.select(new TaskSearchEntity("p_d", emptyList())).stream().map(TaskEntity::summary).toList();
+        assertEquals(List.of("C:\\tmp_dir"), underscore, "_は1文字のワイルドカードとして扱わないこと");
+        assertTrue(taskRepository.select(new TaskSearchEntity("Spring_", emptyList())).isEmpty());
+
+        List<String> backslash = taskRepository.select(new TaskSearchEntity(":\\t", emptyList())).stream().map(TaskEntity::summary).toList();
+        assertEquals(List.of("C:\\tmp_dir"), backslash, "\\はエスケープ文字として扱わないこと");
+        assertEquals(1, taskRepository.count(new TaskSearchEntity("100%", emptyList())));
+    }
+
     /**
      * ステータス検索のテスト
      * 
@@ -470,7 +501,7 @@ public class TaskRepositoryTest {
      * - 2件のタスクが取得される
      * - "Spring Boot を学ぶ"（DONE）が含まれる
      * - "Spring Security を学ぶ"（TODO）が含まれる
-     * - IN句で検索される: WHERE status IN ('TODO', 'DONE')
+     * - IN句で検索される: WHERE status IN (1, 3)  ※ TODO, DONE のコード
      */
     @Test
     @DisplayName("複数ステータス検索の結果をテストする")
@@ -499,4 +530,160 @@ public class TaskRepositoryTest {
             );
         }
     }
+
+    /**
+     * シークページングのテスト
+     * 
+     * 【テスト目的】
+     * after / before に指定したIDを起点に、指定件数だけ取得できることを検証する。
+     * 
+     * 【期待される結果】
+     * - after=1 の場合、ID=2のタスクのみ取得される
+     * - before=2 の場合、ID=1のタスクのみ取得される
+     * - limit=1 の場合、先頭のID=1のタスクのみ取得される
+     */
+    @Test
+    @DisplayName("シークページングの結果をテストする")
+    void test_SelectPage() {
+        TaskSearchEntity condition = new TaskSearchEntity(null, emptyList());
+
+        // 先頭ページ（1件）
+        List<TaskEntity> firstPage = taskRepository.selectPage(condition, new TaskPageRequest(null, null, 1, true), 1);
+        assertEquals(1, firstPage.size(), "先頭ページは1件のはず");
+        assertEquals(1L, firstPage.get(0).id(), "先頭ページはID=1のはず");
+
+        // ID=1より後ろのページ
+        List<TaskEntity> nextPage = taskRepository.selectPage(condition, new TaskPageRequest(1L, null, 10, true), 11);
+        assertEquals(1, nextPage.size(), "ID=1より後ろは1件のはず");
+        assertEquals(2L, nextPage.get(0).id(), "次ページはID=2のはず");
+
+        // ID=2より前のページ
+        List<TaskEntity> previousPage = taskRepository.selectPage(condition, new TaskPageRequest(null, 2L, 10, true), 11);
+        assertEquals(1, previousPage.size(), "ID=2より前は1件のはず");
+        assertEquals(1L, previousPage.get(0).id(), "前ページはID=1のはず");
+    }
+
+    /**
+     * 一覧用の射影によるシークページングのテスト
+     * 
+     * 【テスト目的】
+     * description を読まない selectSummaryPage が selectPage と同じ行を同じ順序で返すことを検証する。
+     */
+    @Test
+    @DisplayName("一覧用の射影でシークページングできることをテストする")
+    void test_SelectSummaryPage() {
+        TaskSearchEntity condition = new TaskSearchEntity(null, emptyList());
+
+        List<TaskSummaryEntity> summaries = taskRepository.selectSummaryPage(condition, new TaskPageRequest(null, null, 10, true), 11);
+        List<TaskEntity> tasks = taskRepository.selectPage(condition, new TaskPageRequest(null, null, 10, true), 11);
+
+        assertEquals(tasks.stream().map(TaskEntity::id).toList(), summaries.stream().map(TaskSummaryEntity::id).toList(),
+                "selectPageと同じIDが同じ順序で取得されるはず");
+        assertEquals(tasks.get(0).summary(), summaries.get(0).summary());
+        assertEquals(tasks.get(0).status(), summaries.get(0).status());
+
+        // ID=2より前のページは降順で取得される
+        List<TaskSummaryEntity> previousPage = taskRepository.selectSummaryPage(condition, new TaskPageRequest(null, 2L, 10, true), 11);
+        assertEquals(1, previousPage.size(), "ID=2より前は1件のはず");
+        assertEquals(1L, previousPage.get(0).id(), "前ページはID=1のはず");
+    }
+
+    /**
+     * 件数取得のテスト
+     * 
+     * 【テスト目的】
+     * 検索条件に合致する件数が取得できることを検証する。
+     */
+    @Test
+    @DisplayName("件数取得の結果をテストする")
+    void test_Count() {
+        assertEquals(2L, taskRepository.count(new TaskSearchEntity(null, emptyList())), "全件は2件のはず");
+        assertEquals(1L, taskRepository.count(new TaskSearchEntity(null, Arrays.asList(TaskStatus.TODO))),
+                "ステータスがTODOのタスクは1件のはず");
+    }
+
+    /**
+     * CSV一括登録のテスト
+     *
+     * 【テスト目的】
+     * ヘッダ付きCSVの行がすべて登録され、空の説明がNULLになることを検証する。
+     */
+    @Test
+    @DisplayName("CSV一括登録の結果をテストする")
+    void test_InsertFromCsv() throws Exception {
+        Path file = Files.createTempFile("tasks", ".csv");
+        try {
+            Files.writeString(file, """
+                    summary,description,status
+                    "CSVタスク1","カンマ, を含む説明",TODO
+                    "CSVタスク2",,DONE
+                    """, StandardCharsets.UTF_8);
+
+            int inserted = taskRepository.insertFromCsv(file.toAbsolutePath().toString());
+
+            assertEquals(2, inserted, "2件登録されるはず");
+            List<TaskEntity> tasks = taskRepository.select(new TaskSearchEntity("CSVタスク", emptyList()));
+            assertEquals(2, tasks.size());
+            assertEquals("カンマ, を含む説明", tasks.get(0).description());
+            assertNull(tasks.get(1).description(), "空の説明はNULLになるはず");
+            assertEquals(TaskStatus.DONE, tasks.get(1).status());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * 変更フィードのテスト
+     * 
+     * 【テスト目的】
+     * 更新したタスクと削除の記録だけが、since より後の変更として change_seq 順に取得できることを検証する。
+     */
+    @Test
+    @DisplayName("変更フィードの結果をテストする")
+    void test_SelectChanges() {
+        List<TaskChange> initial = taskRepository.selectChanges(0, 100);
+        assertEquals(List.of(1L, 2L), initial.stream().map(TaskChange::id).sorted().toList(), "初回は全件が取得されるはず");
+        long since = initial.get(initial.size() - 1).changeSeq();
+
+        taskRepository.update(new TaskEntity(1L, "更新されたタスク", "更新された説明", TaskStatus.DOING));
+        taskRepository.insertTombstones(List.of(2L, 99L));
+        taskRepository.delete(2L);
+
+        List<TaskChange> changes = taskRepository.selectChanges(since, 100);
+        assertEquals(2, changes.size(), "更新と削除の2件のはず (存在しないID=99は記録されない)");
+        assertEquals(1L, changes.get(0).id());
+        assertFalse(changes.get(0).deleted());
+        assertEquals("更新されたタスク", changes.get(0).summary());
+        assertEquals(TaskStatus.DOING, changes.get(0).status());
+        assertNotNull(changes.get(0).updatedAt());
+        assertEquals(2L, changes.get(1).id());
+        assertTrue(changes.get(1).deleted(), "ID=2は削除として取得されるはず");
+        assertNull(changes.get(1).status());
+        assertTrue(changes.get(0).changeSeq() < changes.get(1).changeSeq(), "change_seq順のはず");
+
+        // 最後に取得した番号より後の変更はない
+        assertTrue(taskRepository.selectChanges(changes.get(1).changeSeq(), 100).isEmpty());
+    }
+
+    /**
+     * 楽観ロックのテスト
+     * 
+     * 【テスト目的】
+     * 読み込んだ時点のバージョンを指定した更新は1度だけ成功し、古いバージョンでの更新は0件になることを検証する。
+     */
+    @Test
+    @DisplayName("バージョンを指定した更新の結果をテストする")
+    void test_UpdateWithVersion() {
+        TaskEntity loaded = taskRepository.selectById(1L).orElseThrow();
+        assertNotNull(loaded.version(), "バージョンが読み込まれるはず");
+
+        TaskEntity edited = new TaskEntity(1L, "先に保存した更新", loaded.description(), TaskStatus.DOING, loaded.version());
+        assertEquals(1, taskRepository.update(edited), "読み込んだ時点のバージョンなら更新されるはず");
+        assertEquals(loaded.version() + 1, taskRepository.selectById(1L).orElseThrow().version(), "バージョンが1増えるはず");
+
+        // 同じバージョンを元にした別の編集は、先の更新を上書きしない
+        TaskEntity stale = new TaskEntity(1L, "後から保存した更新", loaded.description(), TaskStatus.DONE, loaded.version());
+        assertEquals(0, taskRepository.update(stale), "古いバージョンでは更新されないはず");
+        assertEquals("先に保存した更新", taskRepository.selectById(1L).orElseThrow().summary());
+    }
 }
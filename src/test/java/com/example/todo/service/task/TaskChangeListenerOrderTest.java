@@ -0,0 +1,72 @@
+package com.example.todo.service.task;
+
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.util.unit.DataSize;
+
+import com.example.todo.repository.task.TaskRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * TaskChangedEventの購読順序のテスト
+ */
+@SpringJUnitConfig
+public class TaskChangeListenerOrderTest {
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        static TransactionalEventListenerFactory transactionalEventListenerFactory() {
+            return new TransactionalEventListenerFactory();
+        }
+
+        @Bean
+        TaskSummaryIndex summaryIndex() {
+            return spy(new TaskSummaryIndex(mock(TaskRepository.class), new TaskSummaryIndexProperties(true, 1000000)));
+        }
+
+        @Bean
+        TaskSearchCache searchCache() {
+            var meterRegistry = new SimpleMeterRegistry();
+            var properties = new TaskCacheProperties(
+                    new TaskCacheProperties.ById(true, 100, Duration.ofMinutes(1)),
+                    new TaskCacheProperties.Search(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1)));
+            var coalescer = new TaskSearchCoalescer(new TaskCoalescingProperties(true, Duration.ofSeconds(5)), meterRegistry);
+            return spy(new TaskSearchCache(properties, coalescer, meterRegistry));
+        }
+    }
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private TaskSummaryIndex summaryIndex;
+
+    @Autowired
+    private TaskSearchCache searchCache;
+
+    @Test
+    @DisplayName("購読順序: インデックスへの反映が検索キャッシュのバージョン更新より先に行われること")
+    void testIndexBeforeSearchCache() {
+        // 逆順だと、新しいバージョンを読んだ検索が反映前のインデックスの結果をキャッシュしてしまう
+        var event = TaskChangedEvent.created(1L, new TaskEntity(null, "タスク1", null, TaskStatus.TODO));
+
+        publisher.publishEvent(event);
+
+        var inOrder = inOrder(summaryIndex, searchCache);
+        inOrder.verify(summaryIndex).onTaskChanged(event);
+        inOrder.verify(searchCache).onTaskChanged(event);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.todo.service.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/*
+ * TaskDataGeneratorの単体テスト
+ */
+public class TaskDataGeneratorTest {
+
+    @Test
+    @DisplayName("同じシードからは同じタスクが生成されること")
+    void testDeterministic() {
+        var first = new TaskDataGenerator(42);
+        var second = new TaskDataGenerator(42);
+        IntStream.range(0, 1000).forEach(i -> assertEquals(first.next(), second.next()));
+    }
+
+    @Test
+    @DisplayName("ステータスはDONEが多く、DOINGが少ない分布になること")
+    void testStatusDistribution() {
+        var generator = new TaskDataGenerator(1);
+        var counts = new EnumMap<TaskStatus, Integer>(TaskStatus.class);
+        int nullDescriptions = 0;
+        for (int i = 0; i < 10_000; i++) {
+            var task = generator.next();
+            assertFalse(task.summary().isBlank());
+            assertTrue(task.summary().length() <= 256);
+            counts.merge(task.status(), 1, Integer::sum);
+            if (task.description() == null) {
+                nullDescriptions++;
+            }
+        }
+        assertTrue(counts.get(TaskStatus.DONE) > counts.get(TaskStatus.TODO));
+        assertTrue(counts.get(TaskStatus.TODO) > counts.get(TaskStatus.DOING));
+        assertTrue(nullDescriptions > 1_000 && nullDescriptions < 3_000);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.todo.service.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/*
+ * TaskEventBufferの単体テスト
+ */
+public class TaskEventBufferTest {
+
+    private static TaskEventBuffer buffer(int capacity) {
+        return new TaskEventBuffer(new TaskEventProperties(capacity, 256, 1, Duration.ofMinutes(1), Duration.ofSeconds(15), Duration.ofSeconds(10)));
+    }
+
+    @Test
+    @DisplayName("読み出し: 指定した番号以降のイベントが番号順に返り、書き込みのたびにリスナーが呼ばれること")
+    void testRead() {
+        var buffer = buffer(8);
+        var notified = new AtomicInteger();
+        buffer.addListener(notified::incrementAndGet);
+        long from = buffer.head();
+
+        buffer.onTaskChanged(TaskChangedEvent.deleted(1L));
+        buffer.onTaskChanged(TaskChangedEvent.deleted(2L));
+        buffer.onTaskChanged(TaskChangedEvent.deleted(3L));
+
+        var slice = buffer.read(from, 2);
+        assertFalse(slice.overrun());
+        assertEquals(List.of(1L, 2L), slice.events().stream().map(record -> record.event().id()).toList());
+        assertEquals(List.of(3L), buffer.read(from + 2, 10).events().stream().map(record -> record.event().id()).toList());
+        assertTrue(buffer.read(buffer.head(), 10).events().isEmpty(), "最新の位置から読むと空のはず");
+        assertEquals(3, notified.get());
+    }
+
+    @Test
+    @DisplayName("追い越し: 上書きされた番号や未採番の番号から読むとoverrunになること")
+    void testOverrun() {
+        var buffer = buffer(3);
+        assertEquals(4, buffer.capacity(), "容量は2のべき乗に切り上げるはず");
+        long from = buffer.head();
+
+        for (long id = 1; id <= 5; id++) {
+            buffer.onTaskChanged(TaskChangedEvent.deleted(id));
+        }
+
+        assertTrue(buffer.read(from, 10).overrun(), "最初のイベントは上書きされているはず");
+        var slice = buffer.read(from + 1, 10);
+        assertFalse(slice.overrun());
+        assertEquals(List.of(2L, 3L, 4L, 5L), slice.events().stream().map(record -> record.event().id()).toList());
+        assertTrue(buffer.read(buffer.head() + 1, 10).overrun(), "まだ採番していない番号は取りこぼしとして扱うはず");
+    }
+}
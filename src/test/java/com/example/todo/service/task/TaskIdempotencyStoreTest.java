@@ -0,0 +1,89 @@
+package com.example.todo.service.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * TaskIdempotencyStoreの単体テスト
+ */
+public class TaskIdempotencyStoreTest {
+
+    private final TaskIdempotencyStore store = new TaskIdempotencyStore(
+            new TaskIdempotencyProperties(100, Duration.ofMinutes(1), Duration.ofSeconds(5)), new ObjectMapper());
+
+    @Test
+    @DisplayName("同時の重複: 後続は先着の処理の完了を待ち、処理は1回だけ実行されること")
+    void testConcurrentDuplicate() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var calls = new AtomicInteger();
+
+        var first = CompletableFuture.supplyAsync(() -> store.execute("create", "key-1", "タスク", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 1L;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        var duplicate = CompletableFuture.supplyAsync(() -> store.execute("create", "key-1", "タスク", () -> {
+            calls.incrementAndGet();
+            return 2L;
+        }));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertFalse(duplicate.isDone(), "先着の処理が終わるまで待つはず");
+
+        release.countDown();
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS));
+        assertEquals(1L, duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+
+        // スコープが異なれば別のキーとして実行される
+        assertEquals(3L, store.execute("update", "key-1", "タスク", () -> 3L));
+    }
+
+    @Test
+    @DisplayName("内容の異なる再利用: 同じキーで内容が異なるリクエストは拒否されること")
+    void testReusedKey() {
+        store.execute("create", "key-2", "タスク", () -> 1L);
+
+        assertThrows(TaskIdempotencyKeyReusedException.class, () -> store.execute("create", "key-2", "別のタスク", () -> 2L));
+        // hashCode が衝突する内容も区別できること
+        store.execute("create", "key-4", "Aa", () -> 1L);
+        assertThrows(TaskIdempotencyKeyReusedException.class, () -> store.execute("create", "key-4", "BB", () -> 2L));
+    }
+
+    @Test
+    @DisplayName("失敗: 例外で終わった処理は記録されず、同じキーでの再試行は実行し直されること")
+    void testFailureIsNotRecorded() {
+        assertThrows(IllegalStateException.class, () -> store.execute("create", "key-3", "タスク", () -> {
+            throw new IllegalStateException("DB エラー");
+        }));
+
+        assertEquals(2L, store.execute("create", "key-3", "タスク", () -> 2L));
+
+        // Error で終わった場合も記録を残さないこと
+        assertThrows(OutOfMemoryError.class, () -> store.execute("create", "key-5", "タスク", () -> {
+            throw new OutOfMemoryError();
+        }));
+        assertEquals(3L, store.execute("create", "key-5", "タスク", () -> 3L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.todo.service.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * TaskSearchCoalescerの単体テスト
+ */
+public class TaskSearchCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("同時検索の集約: 実行中の検索に相乗りし、問い合わせは1回だけであること")
+    void testCoalesce() throws Exception {
+        var coalescer = new TaskSearchCoalescer(new TaskCoalescingProperties(true, Duration.ofSeconds(5)), meterRegistry);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var calls = new AtomicInteger();
+        List<TaskEntity> expected = List.of(new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO));
+
+        // 先着の検索は release されるまで終わらない
+        var leader = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return expected;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        var follower = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            calls.incrementAndGet();
+            return List.<TaskEntity>of();
+        }));
+        // 後続が待ち始めるまで少し待ってから先着の検索を終わらせる
+        Thread.sleep(100);
+        release.countDown();
+
+        assertSame(expected, leader.get(5, TimeUnit.SECONDS));
+        assertSame(expected, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get(), "DBへの問い合わせは1回のはず");
+        assertEquals(1.0, meterRegistry.counter("tasks.search.coalesced").count());
+        assertEquals(0, coalescer.inFlightCount(), "完了した検索は実行中から外れているはず");
+    }
+
+    @Test
+    @DisplayName("タイムアウト: 待ちきれない後続はTaskSearchTimeoutExceptionになること")
+    void testTimeout() throws Exception {
+        var coalescer = new TaskSearchCoalescer(new TaskCoalescingProperties(true, Duration.ofMillis(50)), meterRegistry);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            started.countDown();
+            await(release);
+            return List.<TaskEntity>of();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TaskSearchTimeoutException.class, () -> coalescer.execute("key", List::<TaskEntity>of));
+
+        // 後続のタイムアウトで先着の検索は中断されないこと
+        release.countDown();
+        assertEquals(List.of(), leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.counter("tasks.search.coalesce.timeouts").count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.todo.service.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.example.todo.repository.task.TaskRepository;
+
+/*
+ * TaskServiceの一括処理のテスト。BATCH エグゼキュータを H2 に対して実際に実行する
+ * (他のテストの初期データを変えないよう、別のインメモリ DB を使う)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:task-bulk")
+@RecordApplicationEvents
+public class TaskServiceBulkTest {
+
+    // 一括作成の計測件数と、計測前に登録しておく件数
+    private static final int BULK_ROWS = 10000;
+    private static final int WARM_UP_ROWS = 1000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private List<Long> createTasks(int count) {
+        var ids = taskService.createAll(IntStream.range(0, count)
+                .mapToObj(i -> new TaskEntity(null, "一括タスク" + i, "説明" + i, TaskStatus.TODO))
+                .toList());
+        events.clear();
+        return ids;
+    }
+
+    @Test
+    @DisplayName("一括更新(バージョン指定なし): 存在しないIDは無視し、DBで採番された更新後のバージョンを通知すること")
+    void testUpdateAllWithoutVersion() {
+        long id = createTasks(1).get(0);
+
+        int updated = taskService.updateAll(List.of(
+                new TaskEntity(id, "更新", "更新説明", TaskStatus.DOING),
+                new TaskEntity(Long.MAX_VALUE, "存在しない", null, TaskStatus.DONE)));
+
+        var expected = new TaskEntity(id, "更新", "更新説明", TaskStatus.DOING, 1L);
+        assertEquals(1, updated);
+        assertEquals(expected, taskRepository.selectById(id).orElseThrow());
+        assertEquals(List.of(TaskChangedEvent.updated(expected)), events.stream(TaskChangedEvent.class).toList());
+    }
+
+    @Test
+    @DisplayName("一括更新(楽観ロック): 1件でも競合すれば最新のタスクとともに例外になり、すべてロールバックされること")
+    void testUpdateAllConflict() {
+        var ids = createTasks(2);
+
+        var e = assertThrows(TaskConflictException.class, () -> taskService.updateAll(List.of(
+                new TaskEntity(ids.get(0), "更新", null, TaskStatus.DONE, 0L),
+                new TaskEntity(ids.get(1), "更新", null, TaskStatus.DONE, 5L))));
+
+        assertEquals(new TaskEntity(ids.get(1), "一括タスク1", "説明1", TaskStatus.TODO, 0L), e.current().orElseThrow());
+        assertEquals(new TaskEntity(ids.get(0), "一括タスク0", "説明0", TaskStatus.TODO, 0L), taskRepository.selectById(ids.get(0)).orElseThrow());
+        assertEquals(0, events.stream(TaskChangedEvent.class).count());
+    }
+
+    @Test
+    @DisplayName("一括更新(削除済み): バージョンを指定した行が削除されていれば、最新のタスクなしで例外になること")
+    void testUpdateAllConflictWithDeleted() {
+        long id = createTasks(1).get(0);
+        taskService.delete(id);
+
+        var e = assertThrows(TaskConflictException.class,
+                () -> taskService.updateAll(List.of(new TaskEntity(id, "更新", null, TaskStatus.DONE, 0L))));
+
+        assertTrue(e.current().isEmpty());
+    }
+
+    @Test
+    @DisplayName("一括作成: 1万件が1秒未満で登録され、採番されたIDの順に作成が通知されること")
+    void testCreateAll() {
+        // JIT や接続の準備が計測に入らないよう、先に少量を登録しておく
+        createTasks(WARM_UP_ROWS);
+        var newEntities = IntStream.range(0, BULK_ROWS)
+                .mapToObj(i -> new TaskEntity(null, "一括タスク" + i, null, TaskStatus.TODO))
+                .toList();
+
+        List<Long> ids = assertTimeout(Duration.ofSeconds(1), () -> taskService.createAll(newEntities));
+
+        assertEquals(BULK_ROWS, ids.size());
+        assertEquals(new TaskEntity(ids.get(123), "一括タスク123", null, TaskStatus.TODO, 0L), taskRepository.selectById(ids.get(123)).orElseThrow());
+        var created = events.stream(TaskChangedEvent.class).toList();
+        assertEquals(BULK_ROWS, created.size());
+        assertEquals(TaskChangedEvent.created(ids.get(0), newEntities.get(0)), created.get(0));
+        assertEquals(TaskChangedEvent.created(ids.get(BULK_ROWS - 1), newEntities.get(BULK_ROWS - 1)), created.get(BULK_ROWS - 1));
+    }
+
+    @Test
+    @DisplayName("一括削除: 実際に削除した件数を返し、存在しないIDは通知しないこと")
+    void testDeleteAll() {
+        var ids = createTasks(2);
+
+        int deleted = taskService.deleteAll(List.of(ids.get(0), Long.MAX_VALUE, ids.get(1)));
+
+        assertEquals(2, deleted);
+        assertTrue(taskRepository.selectById(ids.get(0)).isEmpty());
+        assertTrue(taskRepository.selectById(ids.get(1)).isEmpty());
+        assertEquals(List.of(TaskChangedEvent.deleted(ids.get(0)), TaskChangedEvent.deleted(ids.get(1))),
+                events.stream(TaskChangedEvent.class).toList());
+    }
+
+    @Test
+    @DisplayName("削除(存在しないID): 何もせず、変更を通知しないこと")
+    void testDeleteMissing() {
+        taskService.delete(Long.MAX_VALUE);
+
+        assertEquals(0, events.stream(TaskChangedEvent.class).count());
+    }
+}
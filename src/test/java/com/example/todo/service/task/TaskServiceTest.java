@@ -4,8 +4,11 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +17,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 
 import com.example.todo.repository.task.TaskRepository;
 
@@ -21,6 +26,7 @@ import com.example.todo.repository.task.TaskRepository;
  * TaskServiceの単体テスト
  */
 @SpringBootTest
+@RecordApplicationEvents
 public class TaskServiceTest {
 
     // テスト対象クラス（インジェクション）
@@ -31,6 +37,9 @@ public class TaskServiceTest {
     @MockBean
     private TaskRepository taskRepository;
 
+    @Autowired
+    private ApplicationEvents events;
+
     @BeforeEach
     void setUp() {
         // モックの初期化
@@ -72,14 +81,14 @@ public class TaskServiceTest {
                     .findFirst();
         });
 
-        // insert(追加): 何もしない(voidメソッド)
-        doNothing().when(taskRepository).insert(any(TaskEntity.class));
+        // insert(追加): 採番されたIDを返す
+        when(taskRepository.insert(any(TaskEntity.class))).thenReturn(4L);
 
-        // update(更新): 何もしない(voidメソッド)
-        doNothing().when(taskRepository).update(any(TaskEntity.class));
+        // update(更新): 更新件数1を返す
+        when(taskRepository.update(any(TaskEntity.class))).thenReturn(1);
 
-        // delete(削除): 何もしない(voidメソッド)
-        doNothing().when(taskRepository).delete(anyLong());
+        // delete(削除): 削除件数1を返す
+        when(taskRepository.delete(anyLong())).thenReturn(1);
     }
 
     @Test
@@ -97,6 +106,111 @@ public class TaskServiceTest {
         assertEquals(expectedTasks, actual);
     }
 
+    @Test
+    @DisplayName("検索結果キャッシュ: 正規化すると同じ条件はDBに1回だけ問い合わせ、書き込み後は読み直すこと")
+    void testFindCache() {
+        // 空白のみの概要は条件なし、ステータスは並び順と重複を無視する
+        List<TaskEntity> first = taskService.find(new TaskSearchEntity(" ", Arrays.asList(TaskStatus.DONE, TaskStatus.TODO)));
+        List<TaskEntity> second = taskService.find(new TaskSearchEntity(null, Arrays.asList(TaskStatus.TODO, TaskStatus.DONE, TaskStatus.TODO)));
+
+        assertEquals(first, second);
+        verify(taskRepository, times(1)).select(new TaskSearchEntity(null, Arrays.asList(TaskStatus.TODO, TaskStatus.DONE)));
+
+        // 書き込みのコミットで書き込みバージョンが進み、キャッシュ済みの結果は使われないこと
+        taskService.delete(3L);
+        taskService.find(new TaskSearchEntity(null, Arrays.asList(TaskStatus.TODO, TaskStatus.DONE)));
+        verify(taskRepository, times(2)).select(new TaskSearchEntity(null, Arrays.asList(TaskStatus.TODO, TaskStatus.DONE)));
+    }
+
+    @Test
+    @DisplayName("ページ検索: 1件多く取得した結果から次ページの有無が判定されること")
+    void testFindPage() {
+        when(taskRepository.selectPage(any(TaskSearchEntity.class), any(TaskPageRequest.class), anyInt()))
+                .thenReturn(Arrays.asList(
+                        new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO),
+                        new TaskEntity(2L, "タスク2", "説明2", TaskStatus.DOING),
+                        new TaskEntity(3L, "タスク3", "説明3", TaskStatus.DONE)));
+        when(taskRepository.count(any(TaskSearchEntity.class))).thenReturn(3L);
+
+        TaskPage<TaskEntity> actual = taskService.findPage(new TaskSearchEntity(null, null), new TaskPageRequest(null, null, 2, true));
+
+        // ページサイズ+1件で問い合わせていること
+        verify(taskRepository).selectPage(any(TaskSearchEntity.class), any(TaskPageRequest.class), eq(3));
+        assertEquals(Arrays.asList(1L, 2L), actual.tasks().stream().map(TaskEntity::id).toList());
+        assertFalse(actual.hasPrevious());
+        assertTrue(actual.hasNext());
+        assertEquals(3L, actual.totalCount());
+    }
+
+    @Test
+    @DisplayName("ページ検索(前ページ): 降順で取得した結果が昇順に並べ替えられ、件数取得を省略できること")
+    void testFindPageBackward() {
+        when(taskRepository.selectPage(any(TaskSearchEntity.class), any(TaskPageRequest.class), anyInt()))
+                .thenReturn(Arrays.asList(
+                        new TaskEntity(2L, "タスク2", "説明2", TaskStatus.DOING),
+                        new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO)));
+
+        TaskPage<TaskEntity> actual = taskService.findPage(new TaskSearchEntity(null, null), new TaskPageRequest(null, 3L, 2, false));
+
+        assertEquals(Arrays.asList(1L, 2L), actual.tasks().stream().map(TaskEntity::id).toList());
+        assertFalse(actual.hasPrevious());
+        assertTrue(actual.hasNext());
+        assertNull(actual.totalCount());
+        verify(taskRepository, never()).count(any(TaskSearchEntity.class));
+    }
+
+    @Test
+    @DisplayName("一覧用ページ検索: description を読まない射影で取得し、全項目のページ検索とは別にキャッシュされること")
+    void testFindSummaryPage() {
+        when(taskRepository.selectSummaryPage(any(TaskSearchEntity.class), any(TaskPageRequest.class), anyInt()))
+                .thenReturn(Arrays.asList(
+                        new TaskSummaryEntity(1L, "タスク1", TaskStatus.TODO),
+                        new TaskSummaryEntity(2L, "タスク2", TaskStatus.DOING),
+                        new TaskSummaryEntity(3L, "タスク3", TaskStatus.DONE)));
+        when(taskRepository.selectPage(any(TaskSearchEntity.class), any(TaskPageRequest.class), anyInt()))
+                .thenReturn(Arrays.asList(new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO)));
+
+        var pageRequest = new TaskPageRequest(null, null, 2, false);
+        TaskPage<TaskSummaryEntity> actual = taskService.findSummaryPage(new TaskSearchEntity(null, null), pageRequest);
+
+        assertEquals(Arrays.asList(1L, 2L), actual.tasks().stream().map(TaskSummaryEntity::id).toList());
+        assertTrue(actual.hasNext());
+        verify(taskRepository).selectSummaryPage(any(TaskSearchEntity.class), any(TaskPageRequest.class), eq(3));
+
+        // 同じ条件でも全項目のページ検索は射影のキャッシュを使わないこと
+        TaskPage<TaskEntity> full = taskService.findPage(new TaskSearchEntity(null, null), pageRequest);
+        assertEquals("説明1", full.tasks().get(0).description());
+        verify(taskRepository).selectPage(any(TaskSearchEntity.class), any(TaskPageRequest.class), eq(3));
+    }
+
+    @Test
+    @DisplayName("変更フィード: 確定していない変更以降は次回に回し、next が最後に返した番号になること")
+    void testFindChanges() {
+        var settled = OffsetDateTime.now().minusMinutes(1);
+        when(taskRepository.selectChanges(eq(10L), anyInt())).thenReturn(Arrays.asList(
+                new TaskChange(1L, "タスク1", "説明1", TaskStatus.TODO, 0L, 11L, settled, false),
+                new TaskChange(3L, null, null, null, null, 12L, settled, true),
+                new TaskChange(2L, "タスク2", "説明2", TaskStatus.DONE, 0L, 13L, OffsetDateTime.now().plusSeconds(1), false),
+                new TaskChange(4L, "タスク4", "説明4", TaskStatus.DONE, 0L, 14L, settled, false)));
+
+        TaskChanges actual = taskService.findChanges(10L, 10);
+
+        assertEquals(Arrays.asList(11L, 12L), actual.changes().stream().map(TaskChange::changeSeq).toList());
+        assertEquals(12L, actual.next());
+        assertFalse(actual.hasMore());
+        verify(taskRepository).selectChanges(10L, 11);
+    }
+
+    @Test
+    @DisplayName("変更フィードの設定: settle-time が max-write-time の2倍と余裕を超えなければ起動時にエラーになること")
+    void testChangesSettleTime() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TaskChangesProperties(500, 1000, Duration.ofSeconds(5), Duration.ofMillis(4900)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TaskChangesProperties(500, 1000, Duration.ofSeconds(5), Duration.ofMillis(2400)));
+        assertDoesNotThrow(() -> new TaskChangesProperties(500, 1000, Duration.ofSeconds(5), Duration.ofSeconds(2)));
+    }
+
     @Test
     @DisplayName("検索条件あり: 条件に合致するタスクのみ取得できること")
     void testSearchById() {
@@ -110,6 +224,22 @@ public class TaskServiceTest {
         assertEquals(expectedTask, actual);
     }
 
+    @Test
+    @DisplayName("ID検索のキャッシュ: 2回目以降はDBに問い合わせず、更新のコミット後に読み直すこと")
+    void testFindByIdCache() {
+        // 他のテストでキャッシュされた値を破棄しておく
+        taskService.update(new TaskEntity(1L, "タスク1", "説明1", TaskStatus.TODO));
+
+        taskService.findById(1L);
+        taskService.findById(1L);
+        verify(taskRepository, times(1)).selectById(1L);
+
+        // 更新のコミット後はキャッシュが破棄されていること
+        taskService.update(new TaskEntity(1L, "タスク1", "説明1", TaskStatus.DOING));
+        taskService.findById(1L);
+        verify(taskRepository, times(2)).selectById(1L);
+    }
+
     @Test
     @DisplayName("新規タスク作成: タスクが正常に作成できること")
     void testCreateTask() {
@@ -143,6 +273,41 @@ public class TaskServiceTest {
         }));
     }
 
+    @Test
+    @DisplayName("タスク更新(楽観ロック): 更新後のバージョンが返り、他の更新と競合した場合は最新のタスクとともに例外になること")
+    void testUpdateTaskConflict() {
+        TaskEntity updated = taskService.update(new TaskEntity(1L, "更新タスク", "更新説明", TaskStatus.DOING, 3L));
+        assertEquals(4L, updated.version());
+
+        TaskEntity current = new TaskEntity(1L, "他の更新", "説明1", TaskStatus.DONE, 5L);
+        when(taskRepository.update(any(TaskEntity.class))).thenReturn(0);
+        when(taskRepository.selectById(1L)).thenReturn(Optional.of(current));
+
+        var e = assertThrows(TaskConflictException.class,
+                () -> taskService.update(new TaskEntity(1L, "更新タスク", "更新説明", TaskStatus.DOING, 4L)));
+        assertEquals(current, e.current().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("タスク更新(バージョン指定なし): DBで採番された更新後のバージョンを返し、通知すること")
+    void testUpdateTaskWithoutVersion() {
+        var current = new TaskEntity(1L, "更新タスク", "更新説明", TaskStatus.DOING, 6L);
+        when(taskRepository.selectById(1L)).thenReturn(Optional.of(current));
+
+        assertEquals(current, taskService.update(new TaskEntity(1L, "更新タスク", "更新説明", TaskStatus.DOING)));
+        assertEquals(List.of(TaskChangedEvent.updated(current)), events.stream(TaskChangedEvent.class).toList());
+    }
+
+    @Test
+    @DisplayName("タスク更新(存在しないID): バージョンを指定しない場合は何もせず、変更を通知しないこと")
+    void testUpdateMissingTask() {
+        when(taskRepository.update(any(TaskEntity.class))).thenReturn(0);
+
+        taskService.update(new TaskEntity(99L, "存在しないタスク", null, TaskStatus.TODO));
+
+        assertEquals(0, events.stream(TaskChangedEvent.class).count());
+    }
+
     @Test
     @DisplayName("タスク削除: タスクが正常に削除できるること")
     void testDeleteTask() {
@@ -158,4 +323,14 @@ public class TaskServiceTest {
         verify(taskRepository).delete(eq(deleteId));
     }
 
+    @Test
+    @DisplayName("タスク削除(存在しないID): 削除件数が0の場合は変更を通知しないこと")
+    void testDeleteMissingTask() {
+        when(taskRepository.delete(anyLong())).thenReturn(0);
+
+        taskService.delete(99L);
+
+        assertEquals(0, events.stream(TaskChangedEvent.class).count());
+    }
+
 }
@@ -0,0 +1,25 @@
+package com.example.todo.service.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+/*
+ * TaskStatusのコードの単体テスト
+ */
+public class TaskStatusTest {
+
+    @Test
+    @DisplayName("コードとステータスが相互に変換できること")
+    void testCode() {
+        for (var status : TaskStatus.values()) {
+            assertEquals(status, TaskStatus.fromCode(status.code()));
+        }
+        assertEquals(1, TaskStatus.TODO.code());
+        assertEquals(2, TaskStatus.DOING.code());
+        assertEquals(3, TaskStatus.DONE.code());
+        assertThrows(IllegalArgumentException.class, () -> TaskStatus.fromCode(0));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.todo.service.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.todo.repository.task.TaskRepository;
+
+/*
+ * TaskSummaryIndexの単体テスト
+ */
+public class TaskSummaryIndexTest {
+
+    private TaskRepository taskRepository;
+
+    private TaskSummaryIndex summaryIndex;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+
+        // selectSummaries(インデックス構築): ResultHandlerに1件ずつ渡す
+        doAnswer(invocation -> {
+            ResultHandler<TaskSummaryEntity> handler = invocation.getArgument(0);
+            var context = new DefaultResultContext<TaskSummaryEntity>();
+            for (var task : List.of(
+                    new TaskSummaryEntity(1L, "Spring Boot を学ぶ", TaskStatus.DONE),
+                    new TaskSummaryEntity(2L, "Spring Security を学ぶ", TaskStatus.TODO),
+                    new TaskSummaryEntity(3L, "買い物に行く", TaskStatus.TODO))) {
+                context.nextResultObject(task);
+                handler.handleResult(context);
+            }
+            return null;
+        }).when(taskRepository).selectSummaries(any());
+
+        summaryIndex = new TaskSummaryIndex(taskRepository, new TaskSummaryIndexProperties(true, 1000000));
+        summaryIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("部分一致検索: 概要に検索語を含むタスクのIDが昇順で取得できること")
+    void testSearchBySummary() {
+        assertEquals(Optional.of(Arrays.asList(1L, 2L)),
+                summaryIndex.search(new TaskSearchEntity("を学ぶ", null)));
+        assertEquals(Optional.of(List.of(3L)),
+                summaryIndex.search(new TaskSearchEntity("物", null)));
+        // bigramはすべて含まれるが連続していない場合は一致しないこと
+        assertEquals(Optional.of(List.of()),
+                summaryIndex.search(new TaskSearchEntity("Boot Boot", null)));
+    }
+
+    @Test
+    @DisplayName("複合検索: ステータスの条件で絞り込めること")
+    void testSearchBySummaryAndStatus() {
+        assertEquals(Optional.of(List.of(2L)),
+                summaryIndex.search(new TaskSearchEntity("Spring", List.of(TaskStatus.TODO))));
+    }
+
+    @Test
+    @DisplayName("概要の条件なし: インデックスを使わずDB検索に任せること")
+    void testSearchWithoutSummary() {
+        assertEquals(Optional.empty(), summaryIndex.search(new TaskSearchEntity(null, List.of(TaskStatus.TODO))));
+        assertEquals(Optional.empty(), summaryIndex.search(new TaskSearchEntity("", null)));
+    }
+
+    @Test
+    @DisplayName("変更の反映: 作成・更新・削除がインデックスに反映されること")
+    void testOnTaskChanged() {
+        summaryIndex.onTaskChanged(TaskChangedEvent.created(4L,
+                new TaskEntity(null, "Spring Batch を学ぶ", null, TaskStatus.TODO)));
+        summaryIndex.onTaskChanged(TaskChangedEvent.updated(
+                new TaskEntity(1L, "MyBatis を学ぶ", null, TaskStatus.DONE)));
+        summaryIndex.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        assertEquals(Optional.of(List.of(4L)), summaryIndex.search(new TaskSearchEntity("Spring", null)));
+        assertEquals(Optional.of(List.of(1L)), summaryIndex.search(new TaskSearchEntity("MyBatis", null)));
+        // 以前の概要では一致しないこと
+        assertEquals(Optional.of(List.of()), summaryIndex.search(new TaskSearchEntity("Boot", null)));
+    }
+
+    @Test
+    @DisplayName("差分の統合: 多数の変更で転置リストを作り直しても検索結果が変わらないこと")
+    void testCompaction() {
+        for (long id = 4; id < 2100; id++) {
+            summaryIndex.onTaskChanged(TaskChangedEvent.created(id,
+                    new TaskEntity(null, id % 2 == 0 ? "掃除をする" : "洗濯をする", null, TaskStatus.TODO)));
+        }
+        for (long id = 4; id < 2100; id += 2) {
+            summaryIndex.onTaskChanged(TaskChangedEvent.deleted(id));
+        }
+
+        var washing = summaryIndex.search(new TaskSearchEntity("洗濯", null)).orElseThrow();
+        assertEquals(1048, washing.size());
+        assertEquals(5L, washing.get(0));
+        assertEquals(Optional.of(List.of()), summaryIndex.search(new TaskSearchEntity("掃除", null)));
+        assertEquals(Optional.of(List.of(3L)), summaryIndex.search(new TaskSearchEntity("買い物", null)));
+    }
+
+    @Test
+    @DisplayName("件数の上限: 構築時に上限を超えたらインデックスを使わずDB検索に任せること")
+    void testRebuildOverMaxTasks() {
+        var limited = new TaskSummaryIndex(taskRepository, new TaskSummaryIndexProperties(true, 2));
+        limited.rebuild();
+
+        assertEquals(Optional.empty(), limited.search(new TaskSearchEntity("を学ぶ", null)));
+        // 破棄した後の変更は反映しないこと
+        limited.onTaskChanged(TaskChangedEvent.deleted(3L));
+        assertEquals(Optional.empty(), limited.search(new TaskSearchEntity("を学ぶ", null)));
+    }
+
+    @Test
+    @DisplayName("件数の上限: 作成で上限を超えたらインデックスを使わずDB検索に任せること")
+    void testCreateOverMaxTasks() {
+        var limited = new TaskSummaryIndex(taskRepository, new TaskSummaryIndexProperties(true, 3));
+        limited.rebuild();
+        assertEquals(Optional.of(List.of(3L)), limited.search(new TaskSearchEntity("買い物", null)));
+
+        limited.onTaskChanged(TaskChangedEvent.created(4L, new TaskEntity(null, "掃除をする", null, TaskStatus.TODO)));
+
+        assertEquals(Optional.empty(), limited.search(new TaskSearchEntity("買い物", null)));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.todo.service.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.example.todo.repository.task.TaskBatchRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * TaskWriteBehindQueueの単体テスト
+ */
+public class TaskWriteBehindQueueTest {
+
+    private TaskBatchRepository taskBatchRepository;
+
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    // submit はコミットまで戻らないので、同時に積むタスクの数だけスレッドを用意する
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        callers = Executors.newFixedThreadPool(10);
+        taskBatchRepository = mock(TaskBatchRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // 渡された件数分の id を 1 から採番する
+        when(taskBatchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<?> newEntities = invocation.getArgument(0);
+            return LongStream.rangeClosed(1, newEntities.size()).boxed().toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private TaskWriteBehindQueue queue(int capacity, int batchSize, Duration maxDelay) {
+        var properties = new TaskWriteBehindProperties(true, capacity, batchSize, maxDelay, Duration.ofMillis(50), Duration.ofSeconds(5));
+        return new TaskWriteBehindQueue(properties, taskBatchRepository,
+                new TaskChangesProperties(500, 1000, Duration.ofSeconds(5), Duration.ofSeconds(2)),
+                transactionManager, eventPublisher, new SimpleMeterRegistry());
+    }
+
+    private static TaskEntity task(int i) {
+        return new TaskEntity(null, "タスク" + i, null, TaskStatus.TODO);
+    }
+
+    @Test
+    @DisplayName("グループコミット: 同時に積まれたタスクが1トランザクションでまとめて登録され、コミット後にそれぞれのidが返ること")
+    void testGroupCommit() throws Exception {
+        var queue = queue(100, 10, Duration.ofSeconds(5));
+        queue.start();
+        try {
+            var ids = IntStream.range(0, 10)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> queue.submit(task(i)), callers))
+                    .toList();
+
+            var actual = ids.stream().map(CompletableFuture::join).sorted().toList();
+            assertEquals(LongStream.rangeClosed(1, 10).boxed().toList(), actual);
+            verify(taskBatchRepository, times(1)).insertAll(argThat(list -> list.size() == 10));
+            verify(transactionManager, times(1)).commit(any());
+            verify(eventPublisher, times(10)).publishEvent(any(TaskChangedEvent.class));
+        } finally {
+            queue.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("背圧: キューが満杯のままoffer-timeoutを過ぎると登録を拒否すること")
+    void testBackpressure() throws Exception {
+        var flushing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(taskBatchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(1L);
+        });
+        var queue = queue(1, 1, Duration.ZERO);
+        queue.start();
+        try {
+            // 1件目の登録中に2件目がキューを埋める
+            var first = CompletableFuture.supplyAsync(() -> queue.submit(task(1)), callers);
+            assertTrue(flushing.await(5, TimeUnit.SECONDS));
+            var second = CompletableFuture.supplyAsync(() -> queue.submit(task(2)), callers);
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            assertThrows(TaskQueueFullException.class, () -> queue.submit(task(3)));
+
+            release.countDown();
+            assertEquals(1L, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1L, second.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            queue.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("停止: 受け付けをやめ、積まれているタスクを登録してから終了すること")
+    void testDrainOnStop() throws Exception {
+        var queue = queue(100, 100, Duration.ofSeconds(1));
+        queue.start();
+        var ids = IntStream.range(0, 3)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> queue.submit(task(i)), callers))
+                .toList();
+        // 3件とも積まれるまで待つ (max-delay の間はまとめて登録されない)
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        queue.stop();
+
+        assertEquals(3, ids.stream().map(CompletableFuture::join).count());
+        assertFalse(queue.isRunning());
+        assertThrows(TaskQueueFullException.class, () -> queue.submit(task(4)));
+    }
+}